@@ -0,0 +1,33 @@
+package com.github.k7.coursein.cache;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@Component
+@AllArgsConstructor
+public class CatalogConditionalInterceptor implements HandlerInterceptor {
+
+    public static final CacheControl CATALOG_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private final CatalogVersion catalogVersion;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CATALOG_CACHE_CONTROL.getHeaderValue());
+        String etag = catalogVersion.etag();
+        return etag == null || !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+}
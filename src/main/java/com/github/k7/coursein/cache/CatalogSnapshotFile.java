@@ -0,0 +1,20 @@
+package com.github.k7.coursein.cache;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+
+@Value
+public class CatalogSnapshotFile {
+
+    Path file;
+
+    String etag;
+
+    long lastModified;
+
+    public String getGzippedEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+}
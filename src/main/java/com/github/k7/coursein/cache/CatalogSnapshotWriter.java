@@ -0,0 +1,189 @@
+package com.github.k7.coursein.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CoursesImportedEvent;
+import com.github.k7.coursein.repository.CourseListRow;
+import com.github.k7.coursein.repository.CourseRepository;
+import com.github.k7.coursein.specification.CourseSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped NDJSON file with every {@code CourseResponse}, rewritten on a background thread
+ * {@code course.snapshot.debounce-ms} after the first of a burst of course writes. Every build is moved into place
+ * under its own name and never overwritten, so a request that got a path from {@link #current()} reads a complete
+ * file. A replaced build is deleted {@code course.snapshot.retain-ms} later, which leaves requests that already hold
+ * its path time to open it; once open, deleting the file no longer affects them.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotWriter {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String FILE_PREFIX = "catalog-";
+
+    private static final String FILE_SUFFIX = ".ndjson.gz";
+
+    private static final byte NEWLINE = '\n';
+
+    private final CourseRepository courseRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Path directory;
+
+    private final long debounceMillis;
+
+    private final long retainMillis;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile CatalogSnapshotFile current;
+
+    // written only on the catalog-snapshot thread
+    private long generation;
+
+    public CatalogSnapshotWriter(CourseRepository courseRepository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${course.snapshot.dir:${java.io.tmpdir}/coursein-snapshot}") String directory,
+                                 @Value("${course.snapshot.debounce-ms:5000}") long debounceMillis,
+                                 @Value("${course.snapshot.retain-ms:60000}") long retainMillis) {
+        this.courseRepository = courseRepository;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.debounceMillis = debounceMillis;
+        this.retainMillis = retainMillis;
+    }
+
+    public CatalogSnapshotFile current() {
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        executor.execute(this::deleteStaleFiles);
+        schedule(0);
+    }
+
+    @TransactionalEventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        schedule(debounceMillis);
+    }
+
+    @TransactionalEventListener
+    public void onCoursesImported(CoursesImportedEvent event) {
+        schedule(debounceMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void schedule(long delayMillis) {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::regenerate, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void regenerate() {
+        scheduled.set(false);
+        long start = System.currentTimeMillis();
+
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, "catalog", ".tmp");
+
+            CRC32 checksum = new CRC32();
+            int count = 0;
+            try (OutputStream output = new CheckedOutputStream(new GZIPOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary))), checksum)) {
+                Long lastId = 0L;
+                List<CourseListRow> rows;
+                do {
+                    rows = courseRepository.findListRows(
+                        CourseSpecification.idGreaterThan(lastId), Sort.by(Sort.Direction.ASC, "id"), BATCH_SIZE);
+                    for (CourseListRow row : rows) {
+                        output.write(objectMapper.writeValueAsBytes(row.getCourse()));
+                        output.write(NEWLINE);
+                        lastId = row.getId();
+                    }
+                    count += rows.size();
+                } while (rows.size() == BATCH_SIZE);
+            }
+
+            Path file = directory.resolve(FILE_PREFIX + start + "-" + (++generation) + FILE_SUFFIX);
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+
+            CatalogSnapshotFile replaced = current;
+            current = new CatalogSnapshotFile(file, "\"" + Long.toHexString(checksum.getValue()) + "\"", start);
+
+            if (replaced != null) {
+                executor.schedule(() -> deleteQuietly(replaced.getFile()), retainMillis, TimeUnit.MILLISECONDS);
+            }
+
+            log.info("Catalog snapshot written with {} courses in {} ms", count, System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException exception) {
+            log.warn("Failed to write catalog snapshot, retrying in {} ms", debounceMillis, exception);
+            deleteQuietly(temporary);
+            schedule(debounceMillis);
+        }
+    }
+
+    private void deleteStaleFiles() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            files.forEach(CatalogSnapshotWriter::deleteQuietly);
+        } catch (IOException exception) {
+            log.warn("Failed to list stale catalog snapshots in {}", directory, exception);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException exception) {
+            log.warn("Failed to delete {}", path, exception);
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.github.k7.coursein.cache;
+
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CourseEnrolledEvent;
+import com.github.k7.coursein.event.CoursesImportedEvent;
+import com.github.k7.coursein.event.EnrollmentsRemovedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog list version shared by every node. Course writes are covered by the newest committed
+ * {@code course_changes} version; enrollment changes only reorder POPULAR lists, so they advance
+ * {@code catalog_version_seq} once committed. The pair is read at most once per {@code course.catalog.version-ttl-ms}
+ * and local writes force a fresh read.
+ */
+@Slf4j
+@Component
+public class CatalogVersion {
+
+    private static final String CREATE_SEQUENCE = "CREATE SEQUENCE IF NOT EXISTS catalog_version_seq";
+
+    private static final String NEXT_VERSION = "SELECT nextval('catalog_version_seq')";
+
+    private static final String CURRENT_VERSION = "SELECT (SELECT COALESCE(MAX(version), 0) FROM course_changes), "
+        + "(SELECT last_value FROM catalog_version_seq)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long ttlMillis;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Cached cached;
+
+    public CatalogVersion(JdbcTemplate jdbcTemplate, @Value("${course.catalog.version-ttl-ms:1000}") long ttlMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @PostConstruct
+    public void createSequence() {
+        jdbcTemplate.execute(CREATE_SEQUENCE);
+    }
+
+    /**
+     * Returns the current list ETag, or {@code null} when it cannot be read, in which case callers must not answer
+     * conditionally.
+     */
+    public String etag() {
+        Cached current = cached;
+        long now = System.currentTimeMillis();
+        long currentGeneration = generation.get();
+        if (current != null && current.generation == currentGeneration && now < current.expiresAt) {
+            return current.etag;
+        }
+
+        String etag;
+        try {
+            etag = jdbcTemplate.queryForObject(CURRENT_VERSION, (resultSet, row) ->
+                "\"" + Long.toHexString(resultSet.getLong(1)) + "-" + Long.toHexString(resultSet.getLong(2)) + "\"");
+        } catch (DataAccessException exception) {
+            log.warn("Failed to read catalog version", exception);
+            return null;
+        }
+
+        cached = new Cached(etag, currentGeneration, now + ttlMillis);
+        return etag;
+    }
+
+    @TransactionalEventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener
+    public void onCoursesImported(CoursesImportedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener
+    public void onCourseEnrolled(CourseEnrolledEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener
+    public void onEnrollmentsRemoved(EnrollmentsRemovedEvent event) {
+        bump();
+    }
+
+    private void bump() {
+        try {
+            jdbcTemplate.queryForObject(NEXT_VERSION, Long.class);
+        } catch (DataAccessException exception) {
+            log.warn("Failed to advance catalog version", exception);
+        }
+
+        invalidate();
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private static final class Cached {
+
+        private final String etag;
+
+        private final long generation;
+
+        private final long expiresAt;
+
+        private Cached(String etag, long generation, long expiresAt) {
+            this.etag = etag;
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.github.k7.coursein.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CoursesImportedEvent;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.model.WebResponse;
+import com.github.k7.coursein.util.TimeUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized and gzipped {@code WebResponse<CourseResponse>} bodies per course code, versioned by the course's newest
+ * {@code course_changes} version. {@code updated_at} only has whole-second precision, so two writes within a second
+ * could not be told apart; the change-log version grows with every committed write. Each entry remembers the
+ * {@link CatalogVersion} it was last confirmed at. Once the catalog has moved on, which includes writes committed on
+ * other nodes, the next hit compares the entry with the course's change version and drops it if the course changed
+ * or is gone. A load never overwrites an entry of a newer version, and past {@code course.detail.cache.max-entries}
+ * the least recently read entries are evicted.
+ */
+@Component
+public class CourseDetailCache {
+
+    private static final String SELECT_CHANGE_VERSION = "SELECT COALESCE((SELECT MAX(cc.version) "
+        + "FROM course_changes cc WHERE cc.course_id = c.id), 0) FROM courses c WHERE c.code = ?";
+
+    private final ObjectMapper objectMapper;
+
+    private final CatalogVersion catalogVersion;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int maxEntries;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter revalidations;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Object evictionLock = new Object();
+
+    public CourseDetailCache(ObjectMapper objectMapper,
+                             CatalogVersion catalogVersion,
+                             JdbcTemplate jdbcTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${course.detail.cache.max-entries:10000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.catalogVersion = catalogVersion;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxEntries = maxEntries;
+        this.hits = meterRegistry.counter("course.detail.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("course.detail.cache.requests", "result", "miss");
+        this.revalidations = meterRegistry.counter("course.detail.cache.revalidations");
+        meterRegistry.gaugeMapSize("course.detail.cache.size", Tags.empty(), entries);
+    }
+
+    public SerializedResponse get(String code, Function<String, CourseResponse> loader) {
+        String version = catalogVersion.etag();
+
+        Entry cached = entries.get(code);
+        if (cached != null && isCurrent(code, cached, version)) {
+            cached.lastRead = System.nanoTime();
+            hits.increment();
+            return cached.response;
+        }
+
+        misses.increment();
+
+        // read before loading: a write racing the load leaves the entry behind the database, never ahead of it
+        long changeVersion = changeVersionOf(code);
+        SerializedResponse loaded = serialize(loader.apply(code));
+        entries.merge(code, new Entry(loaded, changeVersion, version), (current, fresh) ->
+            fresh.changeVersion < current.changeVersion ? current : fresh);
+        evictIfFull();
+
+        return loaded;
+    }
+
+    @TransactionalEventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        entries.remove(event.getCode());
+        if (event.getPrevious() != null) {
+            entries.remove(event.getPrevious().getCode());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCoursesImported(CoursesImportedEvent event) {
+        event.getCourses().values().forEach(course -> entries.remove(course.getCode()));
+    }
+
+    private boolean isCurrent(String code, Entry cached, String version) {
+        if (version == null || version.equals(cached.checkedVersion)) {
+            return true;
+        }
+
+        revalidations.increment();
+
+        List<Long> changeVersion = jdbcTemplate.queryForList(SELECT_CHANGE_VERSION, Long.class, code);
+        if (changeVersion.isEmpty() || changeVersion.get(0) != cached.changeVersion) {
+            entries.remove(code, cached);
+            return false;
+        }
+
+        cached.checkedVersion = version;
+        return true;
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+
+        synchronized (evictionLock) {
+            int excess = entries.size() - maxEntries * 9 / 10;
+            if (entries.size() <= maxEntries || excess <= 0) {
+                return;
+            }
+
+            List<Map.Entry<String, Entry>> eldest = entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastRead))
+                .limit(excess)
+                .collect(Collectors.toList());
+            eldest.forEach(entry -> entries.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private long changeVersionOf(String code) {
+        List<Long> changeVersion = jdbcTemplate.queryForList(SELECT_CHANGE_VERSION, Long.class, code);
+        return changeVersion.isEmpty() ? 0 : changeVersion.get(0);
+    }
+
+    private SerializedResponse serialize(CourseResponse course) {
+        WebResponse<CourseResponse> response = WebResponse.<CourseResponse>builder()
+            .code(HttpStatus.OK.value())
+            .message(HttpStatus.OK.getReasonPhrase())
+            .data(course)
+            .build();
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            long lastModified = lastModifiedOf(course.getUpdatedAt());
+            return new SerializedResponse(etagOf(lastModified, body), lastModified, body, gzip(body));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Failed to serialize course " + course.getCode(), exception);
+        }
+    }
+
+    private static long lastModifiedOf(String updatedAt) {
+        LocalDateTime dateTime = TimeUtil.parse(updatedAt);
+        return dateTime == null ? -1 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String etagOf(long lastModified, byte[] body) {
+        CRC32 checksum = new CRC32();
+        checksum.update(body, 0, body.length);
+        String version = Long.toHexString(Math.max(lastModified, 0) / 1000);
+        return "\"" + version + "-" + Long.toHexString(checksum.getValue()) + "\"";
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(body.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(body);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return output.toByteArray();
+    }
+
+    private static final class Entry {
+
+        private final SerializedResponse response;
+
+        private final long changeVersion;
+
+        private volatile String checkedVersion;
+
+        private volatile long lastRead = System.nanoTime();
+
+        private Entry(SerializedResponse response, long changeVersion, String checkedVersion) {
+            this.response = response;
+            this.changeVersion = changeVersion;
+            this.checkedVersion = checkedVersion;
+        }
+
+    }
+
+}
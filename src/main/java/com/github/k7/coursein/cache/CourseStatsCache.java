@@ -0,0 +1,122 @@
+package com.github.k7.coursein.cache;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CoursesImportedEvent;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.model.CourseStatsResponse;
+import com.github.k7.coursein.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Course counts per type, category and level, loaded with one GROUP BY on first use and kept current by committed
+ * course writes. A load that overlaps a write is returned but not kept, so the next call counts again.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseStatsCache {
+
+    private final CourseRepository courseRepository;
+
+    private Counters counters;
+
+    private long generation;
+
+    public CourseStatsResponse get() {
+        long loadedGeneration;
+        synchronized (this) {
+            if (counters != null) {
+                return counters.toResponse();
+            }
+
+            loadedGeneration = generation;
+        }
+
+        Counters loaded = new Counters();
+        courseRepository.countByTypeCategoryLevel().forEach(row -> loaded.add(
+            (CourseType) row[0], (CourseCategory) row[1], (CourseLevel) row[2], (Long) row[3]
+        ));
+
+        synchronized (this) {
+            if (generation == loadedGeneration) {
+                counters = loaded;
+            }
+        }
+
+        return loaded.toResponse();
+    }
+
+    @TransactionalEventListener
+    public synchronized void onCourseChanged(CourseChangedEvent event) {
+        generation++;
+        if (counters == null) {
+            return;
+        }
+
+        if (event.getPrevious() != null) {
+            counters.add(event.getPrevious(), -1);
+        }
+
+        if (event.getCourse() != null) {
+            counters.add(event.getCourse(), 1);
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onCoursesImported(CoursesImportedEvent event) {
+        generation++;
+        if (counters != null) {
+            event.getCourses().values().forEach(course -> counters.add(course, 1));
+        }
+    }
+
+    private static final class Counters {
+
+        private long total;
+
+        private final Map<CourseType, Long> types = zeros(CourseType.class);
+
+        private final Map<CourseCategory, Long> categories = zeros(CourseCategory.class);
+
+        private final Map<CourseLevel, Long> levels = zeros(CourseLevel.class);
+
+        private void add(CourseResponse course, long count) {
+            add(course.getType(), course.getCategory(), course.getLevel(), count);
+        }
+
+        private void add(CourseType type, CourseCategory category, CourseLevel level, long count) {
+            total += count;
+            types.merge(type, count, Long::sum);
+            categories.merge(category, count, Long::sum);
+            levels.merge(level, count, Long::sum);
+        }
+
+        private CourseStatsResponse toResponse() {
+            return CourseStatsResponse.builder()
+                .total(total)
+                .types(Collections.unmodifiableMap(new EnumMap<>(types)))
+                .categories(Collections.unmodifiableMap(new EnumMap<>(categories)))
+                .levels(Collections.unmodifiableMap(new EnumMap<>(levels)))
+                .build();
+        }
+
+        private static <E extends Enum<E>> Map<E, Long> zeros(Class<E> type) {
+            Map<E, Long> counts = new EnumMap<>(type);
+            for (E value : type.getEnumConstants()) {
+                counts.put(value, 0L);
+            }
+
+            return counts;
+        }
+
+    }
+
+}
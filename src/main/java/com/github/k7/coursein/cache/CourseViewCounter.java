@@ -0,0 +1,132 @@
+package com.github.k7.coursein.cache;
+
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Course detail views counted in memory and added to {@code courses.view_count} with one batched UPDATE every
+ * {@code course.view.flush-interval-ms} and once more on shutdown. A failed flush is retried with the next one, so
+ * only views since the last successful flush are at risk, and only if the process dies without shutting down.
+ * {@code course.view.flush.lag} reports how old that unflushed window is.
+ *
+ * <p>Views are counted and flushed by course id, so a code change between two flushes does not lose them. The id of
+ * each requested code is looked up once and forgotten when this node sees the course change. A code renamed and then
+ * reused on another node keeps crediting the old course here until this node sees a change to it.
+ */
+@Slf4j
+@Component
+public class CourseViewCounter {
+
+    private static final String ADD_VIEWS = "UPDATE courses SET view_count = view_count + ? WHERE id = ?";
+
+    private static final String FIND_ID = "SELECT id FROM courses WHERE code = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentMap<String, Long> courseIds = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Long, Views> views = new ConcurrentHashMap<>();
+
+    private volatile long lastFlushed = System.currentTimeMillis();
+
+    public CourseViewCounter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        TimeGauge.builder("course.view.flush.lag", this, TimeUnit.MILLISECONDS,
+                counter -> System.currentTimeMillis() - counter.lastFlushed)
+            .register(meterRegistry);
+    }
+
+    public void increment(String code) {
+        Long courseId = courseIds.get(code);
+        if (courseId == null) {
+            List<Long> found = jdbcTemplate.queryForList(FIND_ID, Long.class, code);
+            if (found.isEmpty()) {
+                return;
+            }
+
+            courseId = found.get(0);
+            courseIds.put(code, courseId);
+        }
+
+        views.computeIfAbsent(courseId, key -> new Views()).total.increment();
+    }
+
+    @Scheduled(
+        initialDelayString = "${course.view.flush-interval-ms:5000}",
+        fixedDelayString = "${course.view.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        long start = System.currentTimeMillis();
+
+        List<Long> ids = new ArrayList<>();
+        List<Long> totals = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        views.forEach((courseId, counter) -> {
+            long total = counter.total.sum();
+            if (total > counter.flushed) {
+                ids.add(courseId);
+                totals.add(total);
+                batch.add(new Object[]{total - counter.flushed, courseId});
+            }
+        });
+
+        if (!batch.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(ADD_VIEWS, batch);
+            } catch (DataAccessException exception) {
+                log.warn("Failed to flush views of {} courses, retrying on the next flush", batch.size(), exception);
+                return;
+            }
+
+            for (int i = 0; i < ids.size(); i++) {
+                Views counter = views.get(ids.get(i));
+                if (counter != null) {
+                    counter.flushed = totals.get(i);
+                }
+            }
+        }
+
+        lastFlushed = start;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    @TransactionalEventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        courseIds.remove(event.getCode());
+        if (event.getPrevious() != null) {
+            courseIds.remove(event.getPrevious().getCode());
+        }
+
+        if (event.getType() == CourseChangeType.DELETED) {
+            views.remove(event.getCourseId());
+        }
+    }
+
+    private static final class Views {
+
+        private final LongAdder total = new LongAdder();
+
+        private long flushed;
+
+    }
+
+}
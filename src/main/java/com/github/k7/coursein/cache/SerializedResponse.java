@@ -0,0 +1,20 @@
+package com.github.k7.coursein.cache;
+
+import lombok.Value;
+
+@Value
+public class SerializedResponse {
+
+    String etag;
+
+    long lastModified;
+
+    byte[] body;
+
+    byte[] gzippedBody;
+
+    public String getGzippedEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+}
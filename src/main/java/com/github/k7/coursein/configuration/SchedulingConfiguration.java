@@ -0,0 +1,15 @@
+package com.github.k7.coursein.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduled jobs run on Spring Boot's {@code taskScheduler}, sized by {@code spring.task.scheduling.pool.size} to one
+ * thread per {@code @Scheduled} method, so a slow outbox send or a full related-index rebuild cannot hold up the view
+ * flush or the trending refresh. Raise the pool size when adding a scheduled job.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+
+}
@@ -0,0 +1,60 @@
+package com.github.k7.coursein.configuration;
+
+import com.github.k7.coursein.cache.CatalogConditionalInterceptor;
+import com.github.k7.coursein.enums.CourseSort;
+import com.github.k7.coursein.enums.TrendingWindow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * {@code SwaggerConfiguration} enables {@code @EnableWebMvc}, which switches off Spring Boot's MVC auto-configuration,
+ * so {@code spring.mvc.*} properties are ignored and MVC settings such as the async timeout belong here.
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    /**
+     * Catalog GETs whose body only changes when {@link com.github.k7.coursein.cache.CatalogVersion} does. Trending is
+     * left out: its windows slide with the clock, so the same version can produce a different ranking later.
+     */
+    private static final String[] CATALOG_LIST_PATHS = {
+        "/api/v1/courses",
+        "/api/v1/courses/search",
+        "/api/v1/courses/suggest",
+        "/api/v1/courses/changes",
+        "/api/v1/courses/*/related"
+    };
+
+    private final CatalogConditionalInterceptor catalogConditionalInterceptor;
+
+    private final long asyncTimeoutMillis;
+
+    public WebConfiguration(CatalogConditionalInterceptor catalogConditionalInterceptor,
+                            @Value("${web.async.timeout-ms:3600000}") long asyncTimeoutMillis) {
+        this.catalogConditionalInterceptor = catalogConditionalInterceptor;
+        this.asyncTimeoutMillis = asyncTimeoutMillis;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogConditionalInterceptor)
+            .addPathPatterns(CATALOG_LIST_PATHS);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // streamed responses such as the order CSV export run longer than the container's default async timeout
+        configurer.setDefaultTimeout(asyncTimeoutMillis);
+    }
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, CourseSort.class, CourseSort::fromValue);
+        registry.addConverter(String.class, TrendingWindow.class, TrendingWindow::fromValue);
+    }
+
+}
@@ -1,32 +1,62 @@
 package com.github.k7.coursein.controller;
 
+import com.github.k7.coursein.cache.CatalogConditionalInterceptor;
+import com.github.k7.coursein.cache.CatalogSnapshotFile;
+import com.github.k7.coursein.cache.CatalogSnapshotWriter;
+import com.github.k7.coursein.cache.CourseDetailCache;
+import com.github.k7.coursein.cache.CourseViewCounter;
+import com.github.k7.coursein.cache.SerializedResponse;
 import com.github.k7.coursein.enums.CourseCategory;
 import com.github.k7.coursein.enums.CourseFilter;
 import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseSort;
 import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.enums.TrendingWindow;
 import com.github.k7.coursein.model.AddCourseRequest;
+import com.github.k7.coursein.model.CourseChangesResponse;
+import com.github.k7.coursein.model.CourseFacetsResponse;
+import com.github.k7.coursein.model.CourseListResponse;
 import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.model.CourseStatsResponse;
+import com.github.k7.coursein.model.CursorPage;
+import com.github.k7.coursein.model.ImportCourseResponse;
 import com.github.k7.coursein.model.PagingResponse;
+import com.github.k7.coursein.model.SuggestionResponse;
+import com.github.k7.coursein.model.TrendingCourseResponse;
 import com.github.k7.coursein.model.UpdateCourseRequest;
 import com.github.k7.coursein.model.WebResponse;
+import com.github.k7.coursein.service.CourseImportService;
+import com.github.k7.coursein.service.CourseImportServiceImpl;
 import com.github.k7.coursein.service.CourseService;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 @RestController
 @AllArgsConstructor
@@ -35,6 +65,24 @@ public class CourseController {
 
     private final CourseService courseService;
 
+    private final CourseImportService courseImportService;
+
+    private final CourseDetailCache courseDetailCache;
+
+    private final CourseViewCounter courseViewCounter;
+
+    private final CatalogSnapshotWriter catalogSnapshotWriter;
+
+    private static final String GZIP = "gzip";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     @PostMapping(
         consumes = MediaType.APPLICATION_JSON_VALUE,
         produces = MediaType.APPLICATION_JSON_VALUE
@@ -49,19 +97,101 @@ public class CourseController {
                 .build());
     }
 
-    @GetMapping(
-        path = "/{courseCode}",
+    @PostMapping(
+        path = "/import",
+        consumes = {CourseImportServiceImpl.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
         produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public WebResponse<CourseResponse> getCourse(@PathVariable("courseCode") String courseCode) {
-        CourseResponse courseResponse = courseService.getCourse(courseCode);
-        return WebResponse.<CourseResponse>builder()
+    public WebResponse<ImportCourseResponse> importCourses(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           InputStream body) {
+        ImportCourseResponse importCourseResponse =
+            courseImportService.importCourses(body, MediaType.parseMediaType(contentType));
+        return WebResponse.<ImportCourseResponse>builder()
             .code(HttpStatus.OK.value())
             .message(HttpStatus.OK.getReasonPhrase())
-            .data(courseResponse)
+            .data(importCourseResponse)
             .build();
     }
 
+    @GetMapping(
+        path = "/{courseCode}",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<byte[]> getCourse(@PathVariable("courseCode") String courseCode,
+                                            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                            String acceptEncoding) {
+        SerializedResponse response = courseDetailCache.get(courseCode, courseService::getCourse);
+        // counted here rather than in CourseService#getCourse, which detail cache hits never reach
+        courseViewCounter.increment(courseCode);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains(GZIP);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CatalogConditionalInterceptor.CATALOG_CACHE_CONTROL)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .eTag(gzip ? response.getGzippedEtag() : response.getEtag());
+
+        if (response.getLastModified() >= 0) {
+            builder.lastModified(response.getLastModified());
+        }
+
+        if (gzip) {
+            return builder
+                .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                .body(response.getGzippedBody());
+        }
+
+        return builder.body(response.getBody());
+    }
+
+    @GetMapping(
+        path = "/snapshot",
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public void getCatalogSnapshot(@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                   String acceptEncoding,
+                                   HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        CatalogSnapshotFile snapshot = catalogSnapshotWriter.current();
+        if (snapshot == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Catalog snapshot is not ready");
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains(GZIP);
+        String etag = gzip ? snapshot.getGzippedEtag() : snapshot.getEtag();
+
+        response.setHeader(
+            HttpHeaders.CACHE_CONTROL, CatalogConditionalInterceptor.CATALOG_CACHE_CONTROL.getHeaderValue()
+        );
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, snapshot.getLastModified())) {
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        Path file = snapshot.getFile();
+        if (!gzip) {
+            try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+                StreamUtils.copy(input, response.getOutputStream());
+            }
+            return;
+        }
+
+        long size = Files.size(file);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        response.setContentLengthLong(size);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file with sendfile(2) once the servlet returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+
+        Files.copy(file, response.getOutputStream());
+    }
+
     @GetMapping(
         produces = MediaType.APPLICATION_JSON_VALUE
     )
@@ -70,10 +200,29 @@ public class CourseController {
         @RequestParam(name = "filters", required = false) Set<CourseFilter> filters,
         @RequestParam(name = "categories", required = false) Set<CourseCategory> categories,
         @RequestParam(name = "levels", required = false) Set<CourseLevel> levels,
+        @RequestParam(name = "minPrice", required = false) Double minPrice,
+        @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+        @RequestParam(name = "sort", required = false) CourseSort sort,
         @RequestParam(name = "page", defaultValue = "0") int page,
-        @RequestParam(name = "size", defaultValue = "10") int size
+        @RequestParam(name = "size", defaultValue = "10") int size,
+        @RequestParam(name = "cursor", required = false) String cursor
     ) {
-        Page<CourseResponse> allCourse = courseService.getAllCourse(type, filters, categories, levels, page, size);
+        if (cursor != null) {
+            CursorPage<CourseResponse> courses = courseService.getAllCourseByCursor(
+                type, filters, categories, levels, minPrice, maxPrice, sort, cursor, size);
+            return WebResponse.<List<CourseResponse>>builder()
+                .code(HttpStatus.OK.value())
+                .message(HttpStatus.OK.getReasonPhrase())
+                .data(courses.getContent())
+                .paging(PagingResponse.builder()
+                    .size(size)
+                    .nextCursor(courses.getNextCursor())
+                    .build())
+                .build();
+        }
+
+        Page<CourseResponse> allCourse = courseService.getAllCourse(
+            type, filters, categories, levels, minPrice, maxPrice, sort, page, size);
         return WebResponse.<List<CourseResponse>>builder()
             .code(HttpStatus.OK.value())
             .message(HttpStatus.OK.getReasonPhrase())
@@ -86,6 +235,127 @@ public class CourseController {
             .build();
     }
 
+    @GetMapping(
+        params = "facets=true",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public WebResponse<CourseListResponse> getAllCourseWithFacets(
+        @RequestParam(name = "type", required = false) CourseType type,
+        @RequestParam(name = "filters", required = false) Set<CourseFilter> filters,
+        @RequestParam(name = "categories", required = false) Set<CourseCategory> categories,
+        @RequestParam(name = "levels", required = false) Set<CourseLevel> levels,
+        @RequestParam(name = "minPrice", required = false) Double minPrice,
+        @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+        @RequestParam(name = "sort", required = false) CourseSort sort,
+        @RequestParam(name = "page", defaultValue = "0") int page,
+        @RequestParam(name = "size", defaultValue = "10") int size,
+        @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        WebResponse<List<CourseResponse>> courses =
+            getAllCourse(type, filters, categories, levels, minPrice, maxPrice, sort, page, size, cursor);
+        CourseFacetsResponse facets =
+            courseService.getCourseFacets(type, filters, categories, levels, minPrice, maxPrice);
+
+        return WebResponse.<CourseListResponse>builder()
+            .code(courses.getCode())
+            .message(courses.getMessage())
+            .data(CourseListResponse.builder()
+                .courses(courses.getData())
+                .facets(facets)
+                .build())
+            .paging(courses.getPaging())
+            .build();
+    }
+
+    @GetMapping(
+        path = "/search",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public WebResponse<List<CourseResponse>> searchCourse(
+        @RequestParam(name = "q", required = false) String query,
+        @RequestParam(name = "type", required = false) CourseType type,
+        @RequestParam(name = "categories", required = false) Set<CourseCategory> categories,
+        @RequestParam(name = "levels", required = false) Set<CourseLevel> levels,
+        @RequestParam(name = "page", defaultValue = "0") int page,
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        Page<CourseResponse> courses = courseService.searchCourse(query, type, categories, levels, page, size);
+        return WebResponse.<List<CourseResponse>>builder()
+            .code(HttpStatus.OK.value())
+            .message(HttpStatus.OK.getReasonPhrase())
+            .data(courses.getContent())
+            .paging(PagingResponse.builder()
+                .currentPage(courses.getNumber())
+                .totalPage(courses.getTotalPages())
+                .size(courses.getSize())
+                .build())
+            .build();
+    }
+
+    @GetMapping(
+        path = "/suggest",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public WebResponse<List<SuggestionResponse>> suggestCourse(
+        @RequestParam(name = "prefix", required = false) String prefix,
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        List<SuggestionResponse> suggestions = courseService.suggestCourse(prefix, size);
+        return WebResponse.<List<SuggestionResponse>>builder()
+            .code(HttpStatus.OK.value())
+            .message(HttpStatus.OK.getReasonPhrase())
+            .data(suggestions)
+            .build();
+    }
+
+    @GetMapping(
+        path = "/{courseCode}/related",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public WebResponse<List<CourseResponse>> getRelatedCourses(
+        @PathVariable("courseCode") String courseCode,
+        @RequestParam(name = "size", defaultValue = "5") int size
+    ) {
+        List<CourseResponse> courses = courseService.getRelatedCourses(courseCode, size);
+        return WebResponse.<List<CourseResponse>>builder()
+            .code(HttpStatus.OK.value())
+            .message(HttpStatus.OK.getReasonPhrase())
+            .data(courses)
+            .build();
+    }
+
+    @GetMapping(
+        path = "/changes",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public WebResponse<CourseChangesResponse> getCourseChanges(
+        @RequestParam(name = "since", defaultValue = "0") long since,
+        @RequestParam(name = "size", defaultValue = "500") int size
+    ) {
+        CourseChangesResponse courseChanges = courseService.getCourseChanges(since, size);
+        return WebResponse.<CourseChangesResponse>builder()
+            .code(HttpStatus.OK.value())
+            .message(HttpStatus.OK.getReasonPhrase())
+            .data(courseChanges)
+            .build();
+    }
+
+    @GetMapping(
+        path = "/trending",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public WebResponse<List<TrendingCourseResponse>> getTrendingCourses(
+        @RequestParam(name = "window", defaultValue = "24h") TrendingWindow window,
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        List<TrendingCourseResponse> courses = courseService.getTrendingCourses(window, size);
+        return WebResponse.<List<TrendingCourseResponse>>builder()
+            .code(HttpStatus.OK.value())
+            .message(HttpStatus.OK.getReasonPhrase())
+            .data(courses)
+            .build();
+    }
+
     @PatchMapping(
         path = "/{courseCode}",
         consumes = MediaType.APPLICATION_JSON_VALUE,
@@ -113,6 +383,19 @@ public class CourseController {
             .build();
     }
 
+    @GetMapping(
+        path = "/stats",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public WebResponse<CourseStatsResponse> getCourseStats() {
+        CourseStatsResponse courseStatsResponse = courseService.getCourseStats();
+        return WebResponse.<CourseStatsResponse>builder()
+            .code(HttpStatus.OK.value())
+            .message(HttpStatus.OK.getReasonPhrase())
+            .data(courseStatsResponse)
+            .build();
+    }
+
     @GetMapping(
         path = "/count",
         produces = MediaType.APPLICATION_JSON_VALUE
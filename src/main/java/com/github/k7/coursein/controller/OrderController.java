@@ -1,23 +1,33 @@
 package com.github.k7.coursein.controller;
 
+import com.github.k7.coursein.enums.OrderStatus;
 import com.github.k7.coursein.model.CreateOrderRequest;
 import com.github.k7.coursein.model.DashboardResponse;
 import com.github.k7.coursein.model.OrderResponse;
 import com.github.k7.coursein.model.PagingResponse;
 import com.github.k7.coursein.model.WebResponse;
+import com.github.k7.coursein.service.IdempotencyService;
 import com.github.k7.coursein.service.OrderService;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @RestController
@@ -25,14 +35,22 @@ import java.util.List;
 @AllArgsConstructor
 public class OrderController {
 
+    private static final String CSV_VALUE = "text/csv;charset=UTF-8";
+
     private final OrderService orderService;
 
+    private final IdempotencyService idempotencyService;
+
     @PostMapping(
         consumes = MediaType.APPLICATION_JSON_VALUE,
         produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<WebResponse<OrderResponse>> createOrder(@RequestBody CreateOrderRequest request) {
-        OrderResponse orderResponse = orderService.createOrder(request);
+    public ResponseEntity<WebResponse<OrderResponse>> createOrder(
+        @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+        @RequestBody CreateOrderRequest request) {
+        OrderResponse orderResponse = idempotencyService.execute(
+            "create-order", idempotencyKey, request, OrderResponse.class, () -> orderService.createOrder(request)
+        );
         return ResponseEntity.status(HttpStatus.CREATED)
             .body(WebResponse.<OrderResponse>builder()
                 .code(HttpStatus.CREATED.value())
@@ -61,4 +79,25 @@ public class OrderController {
             .build();
     }
 
+    @GetMapping(
+        path = "/dashboard/export",
+        produces = CSV_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> exportDashboardOrders(
+        @RequestParam(name = "status", required = false) OrderStatus status,
+        @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "From must not be after to");
+        }
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+            .filename("orders-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + ".csv")
+            .build();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(CSV_VALUE))
+            .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+            .body(output -> orderService.exportDashboardOrders(status, from, to, output));
+    }
+
 }
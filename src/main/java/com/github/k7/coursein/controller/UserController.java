@@ -5,6 +5,7 @@ import com.github.k7.coursein.enums.CourseFilter;
 import com.github.k7.coursein.enums.CourseLevel;
 import com.github.k7.coursein.enums.CourseType;
 import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.model.CursorPage;
 import com.github.k7.coursein.model.DeleteUserRequest;
 import com.github.k7.coursein.model.OrderResponse;
 import com.github.k7.coursein.model.PagingResponse;
@@ -21,6 +22,7 @@ import com.github.k7.coursein.model.VerifyOtpRequest;
 import com.github.k7.coursein.model.WebResponse;
 import com.github.k7.coursein.service.AuthService;
 import com.github.k7.coursein.service.CourseService;
+import com.github.k7.coursein.service.IdempotencyService;
 import com.github.k7.coursein.service.OrderService;
 import com.github.k7.coursein.service.UserService;
 import lombok.AllArgsConstructor;
@@ -38,6 +40,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -60,6 +63,8 @@ public class UserController {
 
     private final AuthService authService;
 
+    private final IdempotencyService idempotencyService;
+
     @PostMapping(
         path = "/register",
         consumes = MediaType.APPLICATION_JSON_VALUE,
@@ -201,8 +206,23 @@ public class UserController {
         @RequestParam(name = "categories", required = false) Set<CourseCategory> categories,
         @RequestParam(name = "levels", required = false) Set<CourseLevel> levels,
         @RequestParam(name = "page", defaultValue = "0") int page,
-        @RequestParam(name = "size", defaultValue = "10") int size
+        @RequestParam(name = "size", defaultValue = "10") int size,
+        @RequestParam(name = "cursor", required = false) String cursor
     ) {
+        if (cursor != null) {
+            CursorPage<CourseResponse> courses = courseService.getAllCourseUserByCursor(
+                username, type, filters, categories, levels, cursor, size);
+            return WebResponse.<List<CourseResponse>>builder()
+                .code(HttpStatus.OK.value())
+                .message(HttpStatus.OK.getReasonPhrase())
+                .data(courses.getContent())
+                .paging(PagingResponse.builder()
+                    .size(size)
+                    .nextCursor(courses.getNextCursor())
+                    .build())
+                .build();
+        }
+
         Page<CourseResponse> allCourse = courseService.getAllCourseUser(
             username, type, filters, categories, levels, page, size);
         return WebResponse.<List<CourseResponse>>builder()
@@ -224,7 +244,21 @@ public class UserController {
     public WebResponse<List<OrderResponse>> getOrders(
         @PathVariable("username") String username,
         @RequestParam(name = "page", defaultValue = "0") int page,
-        @RequestParam(name = "size", defaultValue = "10") int size) {
+        @RequestParam(name = "size", defaultValue = "10") int size,
+        @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            CursorPage<OrderResponse> orders = orderService.getAllOrderByCursor(username, cursor, size);
+            return WebResponse.<List<OrderResponse>>builder()
+                .code(HttpStatus.OK.value())
+                .message(HttpStatus.OK.getReasonPhrase())
+                .data(orders.getContent())
+                .paging(PagingResponse.builder()
+                    .size(size)
+                    .nextCursor(orders.getNextCursor())
+                    .build())
+                .build();
+        }
+
         Page<OrderResponse> allOrder = orderService.getAllOrder(username, page, size);
         return WebResponse.<List<OrderResponse>>builder()
             .code(HttpStatus.OK.value())
@@ -259,8 +293,13 @@ public class UserController {
     )
     public WebResponse<OrderResponse> payOrder(@PathVariable("username") String username,
                                                @PathVariable("orderId") String orderId,
+                                               @RequestHeader(name = IdempotencyService.HEADER, required = false)
+                                               String idempotencyKey,
                                                @RequestBody PayOrderRequest request) {
-        OrderResponse orderResponse = orderService.payOrder(username, orderId, request);
+        OrderResponse orderResponse = idempotencyService.execute(
+            "pay-order:" + username + ":" + orderId, idempotencyKey, request, OrderResponse.class,
+            () -> orderService.payOrder(username, orderId, request)
+        );
         return WebResponse.<OrderResponse>builder()
             .code(HttpStatus.OK.value())
             .message(HttpStatus.OK.getReasonPhrase())
@@ -23,6 +23,7 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
@@ -35,9 +36,16 @@ import java.util.Set;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "courses")
-@ToString(exclude = {"users", "intendeds", "orderDetails"})
-@EqualsAndHashCode(exclude = {"users", "intendeds", "orderDetails"})
+@Table(
+    name = "courses",
+    indexes = {
+        @Index(name = "idx_courses_enrollment_count", columnList = "enrollment_count"),
+        @Index(name = "idx_courses_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_courses_type_category_level_price", columnList = "type, category, level, price")
+    }
+)
+@ToString(exclude = {"users", "enrollments", "intendeds", "orderDetails"})
+@EqualsAndHashCode(exclude = {"users", "enrollments", "intendeds", "orderDetails"})
 @EntityListeners({
     CreatedAtListener.class,
     UpdatedAtListener.class
@@ -83,9 +91,30 @@ public class Course implements CreatedAtAware, UpdatedAtAware {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Builder.Default
+    @Column(
+        name = "enrollment_count",
+        nullable = false,
+        insertable = false,
+        updatable = false,
+        columnDefinition = "bigint default 0")
+    private Long enrollmentCount = 0L;
+
+    @Builder.Default
+    @Column(
+        name = "view_count",
+        nullable = false,
+        insertable = false,
+        updatable = false,
+        columnDefinition = "bigint default 0")
+    private Long viewCount = 0L;
+
     @ManyToMany(mappedBy = "courses")
     private Set<User> users = new HashSet<>();
 
+    @OneToMany(mappedBy = "course")
+    private Set<UserCourse> enrollments = new HashSet<>();
+
     @OneToMany(
         mappedBy = "course",
         cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REMOVE})
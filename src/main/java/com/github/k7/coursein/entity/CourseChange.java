@@ -0,0 +1,48 @@
+package com.github.k7.coursein.entity;
+
+import com.github.k7.coursein.enums.CourseChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(
+    name = "course_changes",
+    indexes = @Index(name = "idx_course_changes_course_id_version", columnList = "course_id, version")
+)
+public class CourseChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long version;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(nullable = false, length = 50)
+    private String code;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CourseChangeType type;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+}
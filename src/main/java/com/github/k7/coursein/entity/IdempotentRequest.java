@@ -0,0 +1,42 @@
+package com.github.k7.coursein.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(
+    name = "idempotent_requests",
+    indexes = @Index(name = "idx_idempotent_requests_expires_at", columnList = "expires_at")
+)
+public class IdempotentRequest {
+
+    @Id
+    @Column(name = "idempotency_key", length = 400)
+    private String key;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(columnDefinition = "TEXT")
+    private String response;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+}
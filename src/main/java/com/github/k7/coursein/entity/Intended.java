@@ -12,6 +12,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -21,7 +22,10 @@ import javax.persistence.Table;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "intendeds")
+@Table(
+    name = "intendeds",
+    indexes = @Index(name = "idx_intendeds_course_id", columnList = "course_id")
+)
 @ToString(exclude = {"course"})
 @EqualsAndHashCode(exclude = {"course"})
 public class Intended {
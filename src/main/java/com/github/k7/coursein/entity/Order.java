@@ -14,6 +14,7 @@ import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -23,7 +24,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "orders")
+@Table(
+    name = "orders",
+    indexes = @Index(name = "idx_orders_user_id_created_at_id", columnList = "user_id, created_at, id")
+)
 @Builder
 @ToString(exclude = {"user", "course"})
 @EqualsAndHashCode(exclude = {"user", "course"})
@@ -0,0 +1,68 @@
+package com.github.k7.coursein.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of the {@code user_courses} join table owned by {@link User#getCourses()}, exposing when each
+ * enrollment happened. Rows are still written through the many-to-many, {@code enrolled_at} is filled by the database.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Immutable
+@IdClass(UserCourse.Key.class)
+@Table(
+    name = "user_courses",
+    indexes = @Index(name = "idx_user_courses_user_id_enrolled_at", columnList = "user_id, enrolled_at")
+)
+@ToString(exclude = {"user", "course"})
+@EqualsAndHashCode(exclude = {"user", "course"})
+public class UserCourse {
+
+    @Id
+    @ManyToOne
+    @JoinColumn(name = "user_id", referencedColumnName = "id")
+    private User user;
+
+    @Id
+    @ManyToOne
+    @JoinColumn(name = "course_id", referencedColumnName = "id")
+    private Course course;
+
+    @Column(
+        name = "enrolled_at",
+        nullable = false,
+        insertable = false,
+        updatable = false,
+        columnDefinition = "timestamp default now()")
+    private LocalDateTime enrolledAt;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long user;
+
+        private Long course;
+
+    }
+
+}
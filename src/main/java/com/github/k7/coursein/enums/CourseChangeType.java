@@ -0,0 +1,9 @@
+package com.github.k7.coursein.enums;
+
+public enum CourseChangeType {
+
+    CREATED,
+    UPDATED,
+    DELETED
+
+}
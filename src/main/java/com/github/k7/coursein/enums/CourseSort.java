@@ -0,0 +1,16 @@
+package com.github.k7.coursein.enums;
+
+import java.util.Locale;
+
+public enum CourseSort {
+
+    PRICE_ASC,
+    PRICE_DESC,
+    NEWEST,
+    POPULAR;
+
+    public static CourseSort fromValue(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.github.k7.coursein.enums;
+
+public enum OutboxMessageType {
+
+    PAYMENT_EMAIL
+
+}
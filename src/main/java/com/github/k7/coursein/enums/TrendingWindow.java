@@ -0,0 +1,27 @@
+package com.github.k7.coursein.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum TrendingWindow {
+
+    LAST_24H("24h", 24),
+    LAST_7D("7d", 168);
+
+    private final String value;
+
+    private final int hours;
+
+    public static TrendingWindow fromValue(String value) {
+        for (TrendingWindow window : values()) {
+            if (window.value.equalsIgnoreCase(value.trim()) || window.name().equalsIgnoreCase(value.trim())) {
+                return window;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown trending window: " + value);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.github.k7.coursein.event;
+
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.model.CourseResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class CourseChangedEvent {
+
+    private final CourseChangeType type;
+
+    private final Long courseId;
+
+    private final String code;
+
+    private final CourseResponse course;
+
+    private final CourseResponse previous;
+
+}
@@ -0,0 +1,20 @@
+package com.github.k7.coursein.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class CourseEnrolledEvent {
+
+    private final Long courseId;
+
+    private final Long userId;
+
+    private final Set<Long> enrolledCourseIds;
+
+}
@@ -0,0 +1,17 @@
+package com.github.k7.coursein.event;
+
+import com.github.k7.coursein.model.CourseResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+@Getter
+@ToString(of = "courses")
+@AllArgsConstructor
+public class CoursesImportedEvent {
+
+    private final Map<Long, CourseResponse> courses;
+
+}
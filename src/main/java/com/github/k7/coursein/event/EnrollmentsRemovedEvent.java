@@ -0,0 +1,18 @@
+package com.github.k7.coursein.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class EnrollmentsRemovedEvent {
+
+    private final Long userId;
+
+    private final Set<Long> courseIds;
+
+}
@@ -0,0 +1,22 @@
+package com.github.k7.coursein.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class OrderCompletedEvent {
+
+    private final String orderId;
+
+    private final Long courseId;
+
+    private final LocalDateTime completedAt;
+
+    private final String email;
+
+}
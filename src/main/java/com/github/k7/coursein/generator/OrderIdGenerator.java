@@ -1,36 +1,132 @@
 package com.github.k7.coursein.generator;
 
-import lombok.experimental.UtilityClass;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
-@UtilityClass
+/**
+ * Hands out {@code INV-yyyyMMdd-000001} order ids from blocks of {@link #BLOCK_SIZE} numbers reserved with one
+ * {@code nextval} each, so every node allocates from its own range without locking and a restart never reuses ids.
+ * Only one thread per node refills an exhausted block; the others wait and continue from the new one.
+ *
+ * <p>The numbers no longer restart at {@code 000001} every day. They come from one sequence that is never reset, so
+ * the date part only records the day an order was placed, and the number grows past six digits once the sequence
+ * does. The sequence is created on first use, starting after the highest number issued on that day.
+ */
+@Component
 public class OrderIdGenerator {
 
-    private final AtomicLong orderCounter = new AtomicLong(1);
+    static final int BLOCK_SIZE = 1000;
 
-    private LocalDate lastUpdatedDate = LocalDate.now();
+    static final String NEXT_BLOCK = "SELECT nextval('order_id_block_seq')";
+
+    private static final String PREFIX = "INV-";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate ownTransaction;
+
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0));
+
+    private final Object refillLock = new Object();
+
+    private volatile boolean sequenceCreated;
+
+    public OrderIdGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     public String generateOrderId() {
-        resetCounterIfDayIsChange();
+        return format(LocalDate.now(), nextNumber());
+    }
+
+    long nextNumber() {
+        while (true) {
+            Block block = current.get();
+            long number = block.next.getAndIncrement();
+            if (number < block.limit) {
+                return number;
+            }
+
+            refill(block);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        synchronized (refillLock) {
+            if (current.get() == exhausted) {
+                current.set(reserve());
+            }
+        }
+    }
+
+    private Block reserve() {
+        if (!sequenceCreated) {
+            // CREATE SEQUENCE is transactional in PostgreSQL; running it inside the caller's order transaction
+            // would let a rollback drop the sequence while this flag says it exists.
+            try {
+                createSequenceInOwnTransaction();
+            } catch (DuplicateKeyException exception) {
+                // two nodes racing through CREATE SEQUENCE IF NOT EXISTS: the loser fails on the pg_class unique
+                // index once the winner commits, so the retry finds the sequence and does nothing
+                createSequenceInOwnTransaction();
+            }
+            sequenceCreated = true;
+        }
+
+        Long start = jdbcTemplate.queryForObject(NEXT_BLOCK, Long.class);
+        if (start == null) {
+            throw new IllegalStateException("order_id_block_seq returned no value");
+        }
 
-        long orderNumber = orderCounter.getAndIncrement();
-        String formattedOrderNumber = String.format("%06d", orderNumber);
+        return new Block(start, start + BLOCK_SIZE);
+    }
 
-        return String.format("INV-%d%02d%02d-%s",
-            lastUpdatedDate.getYear(),
-            lastUpdatedDate.getMonthValue(),
-            lastUpdatedDate.getDayOfMonth(),
-            formattedOrderNumber);
+    private void createSequenceInOwnTransaction() {
+        ownTransaction.execute(status -> {
+            createSequence();
+            return null;
+        });
     }
 
-    private void resetCounterIfDayIsChange() {
-        boolean isYesterday = lastUpdatedDate.isBefore(LocalDate.now());
-        if (isYesterday) {
-            orderCounter.set(1);
-            lastUpdatedDate = LocalDate.now();
+    private void createSequence() {
+        String today = PREFIX + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "-";
+        Long issuedToday = jdbcTemplate.queryForObject(
+            "SELECT MAX(CAST(substring(id FROM ?) AS bigint)) FROM orders WHERE id LIKE ?",
+            Long.class, today.length() + 1, today + "%"
+        );
+        long start = (issuedToday == null ? 0 : issuedToday) + 1;
+
+        jdbcTemplate.execute(
+            "CREATE SEQUENCE IF NOT EXISTS order_id_block_seq INCREMENT BY " + BLOCK_SIZE + " START WITH " + start
+        );
+    }
+
+    static String format(LocalDate date, long number) {
+        return PREFIX + date.format(DateTimeFormatter.BASIC_ISO_DATE) + "-" + String.format("%06d", number);
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+
+        private final long limit;
+
+        private Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
         }
+
     }
 
 }
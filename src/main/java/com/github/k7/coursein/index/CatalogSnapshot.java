@@ -0,0 +1,394 @@
+package com.github.k7.coursein.index;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseFilter;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of the course catalog. Courses are kept in id order and every attribute is indexed with a
+ * {@link BitSet} of array positions, so filters are answered with bitwise AND/OR. Writes never mutate a snapshot,
+ * they return a patched copy that shares every structure it did not touch.
+ */
+final class CatalogSnapshot {
+
+    private static final BitSet NO_BITS = new BitSet();
+
+    private static final Comparator<CourseSummary> NEWEST = Comparator
+        .<CourseSummary, String>comparing(CourseSummary::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+        .thenComparing(CourseSummary::getId, Comparator.reverseOrder());
+
+    private static final Comparator<CourseSummary> POPULAR = Comparator
+        .<CourseSummary>comparingLong(CourseSummary::getEnrollmentCount).reversed()
+        .thenComparing(NEWEST);
+
+    private final CourseSummary[] courses;
+
+    private final Map<Long, Integer> positions;
+
+    private final BitSet live;
+
+    private final Map<CourseType, BitSet> types;
+
+    private final Map<CourseCategory, BitSet> categories;
+
+    private final Map<CourseLevel, BitSet> levels;
+
+    private final int[] newest;
+
+    private final int[] popular;
+
+    private final BitSet popularBits;
+
+    private final int dead;
+
+    private CatalogSnapshot(CourseSummary[] courses,
+                            Map<Long, Integer> positions,
+                            BitSet live,
+                            Map<CourseType, BitSet> types,
+                            Map<CourseCategory, BitSet> categories,
+                            Map<CourseLevel, BitSet> levels,
+                            int[] newest,
+                            int[] popular,
+                            BitSet popularBits,
+                            int dead) {
+        this.courses = courses;
+        this.positions = positions;
+        this.live = live;
+        this.types = types;
+        this.categories = categories;
+        this.levels = levels;
+        this.newest = newest;
+        this.popular = popular;
+        this.popularBits = popularBits;
+        this.dead = dead;
+    }
+
+    static CatalogSnapshot build(Collection<CourseSummary> summaries) {
+        CourseSummary[] courses = summaries.toArray(new CourseSummary[0]);
+        Arrays.sort(courses, Comparator.comparing(CourseSummary::getId));
+
+        Map<Long, Integer> positions = new HashMap<>(courses.length * 2);
+        BitSet live = new BitSet(courses.length);
+        Map<CourseType, BitSet> types = new EnumMap<>(CourseType.class);
+        Map<CourseCategory, BitSet> categories = new EnumMap<>(CourseCategory.class);
+        Map<CourseLevel, BitSet> levels = new EnumMap<>(CourseLevel.class);
+
+        for (int position = 0; position < courses.length; position++) {
+            CourseSummary course = courses[position];
+            positions.put(course.getId(), position);
+            live.set(position);
+            types.computeIfAbsent(course.getType(), key -> new BitSet()).set(position);
+            categories.computeIfAbsent(course.getCategory(), key -> new BitSet()).set(position);
+            levels.computeIfAbsent(course.getLevel(), key -> new BitSet()).set(position);
+        }
+
+        int[] newest = sortPositions(courses, live, NEWEST);
+
+        BitSet popularBits = new BitSet(courses.length);
+        live.stream()
+            .filter(position -> courses[position].getEnrollmentCount() > 0)
+            .forEach(popularBits::set);
+        int[] popular = sortPositions(courses, popularBits, POPULAR);
+
+        return new CatalogSnapshot(
+            courses, positions, live, types, categories, levels, newest, popular, popularBits, 0
+        );
+    }
+
+    int size() {
+        return live.cardinality();
+    }
+
+    CourseSummary get(Long id) {
+        Integer position = positions.get(id);
+        return position == null ? null : courses[position];
+    }
+
+    Page<CourseSummary> query(CourseType type,
+                              Set<CourseFilter> filters,
+                              Set<CourseCategory> categories,
+                              Set<CourseLevel> levels,
+                              Pageable pageable) {
+        BitSet matches = (BitSet) live.clone();
+
+        if (type != null) {
+            matches.and(types.getOrDefault(type, NO_BITS));
+        }
+
+        if (categories != null && !categories.isEmpty()) {
+            matches.and(union(this.categories, categories));
+        }
+
+        if (levels != null && !levels.isEmpty()) {
+            matches.and(union(this.levels, levels));
+        }
+
+        int offset = (int) pageable.getOffset();
+        int size = pageable.getPageSize();
+        List<CourseSummary> content = new ArrayList<>(size);
+
+        if (filters != null && filters.contains(CourseFilter.POPULAR)) {
+            matches.and(popularBits);
+            collect(popular, matches, offset, size, content);
+        } else if (filters != null && filters.contains(CourseFilter.NEWEST)) {
+            collect(newest, matches, offset, size, content);
+        } else {
+            int skipped = 0;
+            for (int position = matches.nextSetBit(0);
+                 position >= 0 && content.size() < size;
+                 position = matches.nextSetBit(position + 1)) {
+                if (skipped < offset) {
+                    skipped++;
+                    continue;
+                }
+                content.add(courses[position]);
+            }
+        }
+
+        return new PageImpl<>(content, pageable, matches.cardinality());
+    }
+
+    CatalogSnapshot withAddedAll(Collection<CourseSummary> added) {
+        List<CourseSummary> summaries = liveSummaries();
+        summaries.addAll(added);
+        return build(summaries);
+    }
+
+    CatalogSnapshot withAdded(CourseSummary course) {
+        if (positions.containsKey(course.getId())) {
+            return withUpdated(course);
+        }
+
+        if (courses.length > 0 && courses[courses.length - 1].getId() > course.getId()) {
+            List<CourseSummary> summaries = liveSummaries();
+            summaries.add(course);
+            return build(summaries);
+        }
+
+        int position = courses.length;
+        CourseSummary[] newCourses = Arrays.copyOf(courses, position + 1);
+        newCourses[position] = course;
+
+        Map<Long, Integer> newPositions = new HashMap<>(positions);
+        newPositions.put(course.getId(), position);
+
+        BitSet newLive = withBit(live, position, true);
+
+        int[] newPopular = popular;
+        BitSet newPopularBits = popularBits;
+        if (course.getEnrollmentCount() > 0) {
+            newPopular = insert(popular, position, newCourses, POPULAR);
+            newPopularBits = withBit(popularBits, position, true);
+        }
+
+        return new CatalogSnapshot(
+            newCourses,
+            newPositions,
+            newLive,
+            withBit(types, course.getType(), position, true),
+            withBit(categories, course.getCategory(), position, true),
+            withBit(levels, course.getLevel(), position, true),
+            insert(newest, position, newCourses, NEWEST),
+            newPopular,
+            newPopularBits,
+            dead
+        );
+    }
+
+    CatalogSnapshot withUpdated(CourseSummary course) {
+        Integer position = positions.get(course.getId());
+        if (position == null) {
+            return withAdded(course);
+        }
+
+        CourseSummary previous = courses[position];
+        CourseSummary[] newCourses = courses.clone();
+        newCourses[position] = course;
+
+        Map<CourseType, BitSet> newTypes = types;
+        if (previous.getType() != course.getType()) {
+            newTypes = withBit(
+                withBit(types, previous.getType(), position, false), course.getType(), position, true
+            );
+        }
+
+        Map<CourseCategory, BitSet> newCategories = categories;
+        if (previous.getCategory() != course.getCategory()) {
+            newCategories = withBit(
+                withBit(categories, previous.getCategory(), position, false), course.getCategory(), position, true
+            );
+        }
+
+        Map<CourseLevel, BitSet> newLevels = levels;
+        if (previous.getLevel() != course.getLevel()) {
+            newLevels = withBit(
+                withBit(levels, previous.getLevel(), position, false), course.getLevel(), position, true
+            );
+        }
+
+        boolean createdAtChanged = !Objects.equals(previous.getCreatedAt(), course.getCreatedAt());
+
+        int[] newNewest = newest;
+        if (createdAtChanged) {
+            newNewest = insert(remove(newest, position), position, newCourses, NEWEST);
+        }
+
+        boolean wasPopular = previous.getEnrollmentCount() > 0;
+        boolean isPopular = course.getEnrollmentCount() > 0;
+
+        int[] newPopular = popular;
+        BitSet newPopularBits = popularBits;
+        if (wasPopular && !isPopular) {
+            newPopular = remove(popular, position);
+            newPopularBits = withBit(popularBits, position, false);
+        } else if (!wasPopular && isPopular) {
+            newPopular = insert(popular, position, newCourses, POPULAR);
+            newPopularBits = withBit(popularBits, position, true);
+        } else if (isPopular && (createdAtChanged || previous.getEnrollmentCount() != course.getEnrollmentCount())) {
+            newPopular = insert(remove(popular, position), position, newCourses, POPULAR);
+        }
+
+        return new CatalogSnapshot(
+            newCourses,
+            positions,
+            live,
+            newTypes,
+            newCategories,
+            newLevels,
+            newNewest,
+            newPopular,
+            newPopularBits,
+            dead
+        );
+    }
+
+    CatalogSnapshot withRemoved(Long id) {
+        Integer position = positions.get(id);
+        if (position == null) {
+            return this;
+        }
+
+        Map<Long, Integer> newPositions = new HashMap<>(positions);
+        newPositions.remove(id);
+
+        CatalogSnapshot snapshot = new CatalogSnapshot(
+            courses,
+            newPositions,
+            withBit(live, position, false),
+            types,
+            categories,
+            levels,
+            newest,
+            popular,
+            popularBits,
+            dead + 1
+        );
+
+        if (snapshot.dead * 4 > snapshot.size()) {
+            return build(snapshot.liveSummaries());
+        }
+
+        return snapshot;
+    }
+
+    private List<CourseSummary> liveSummaries() {
+        return live.stream()
+            .mapToObj(position -> courses[position])
+            .collect(Collectors.toList());
+    }
+
+    private void collect(int[] order, BitSet matches, int offset, int size, List<CourseSummary> content) {
+        int skipped = 0;
+        for (int position : order) {
+            if (content.size() >= size) {
+                break;
+            }
+
+            if (!matches.get(position)) {
+                continue;
+            }
+
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+
+            content.add(courses[position]);
+        }
+    }
+
+    private static <E extends Enum<E>> BitSet union(Map<E, BitSet> index, Set<E> keys) {
+        BitSet union = new BitSet();
+        keys.forEach(key -> union.or(index.getOrDefault(key, NO_BITS)));
+        return union;
+    }
+
+    private static int[] sortPositions(CourseSummary[] courses, BitSet members, Comparator<CourseSummary> comparator) {
+        return members.stream()
+            .boxed()
+            .sorted((left, right) -> comparator.compare(courses[left], courses[right]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    private static int[] insert(int[] order,
+                                int position,
+                                CourseSummary[] courses,
+                                Comparator<CourseSummary> comparator) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(courses[order[middle]], courses[position]) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        int[] result = new int[order.length + 1];
+        System.arraycopy(order, 0, result, 0, low);
+        result[low] = position;
+        System.arraycopy(order, low, result, low + 1, order.length - low);
+        return result;
+    }
+
+    private static int[] remove(int[] order, int position) {
+        return Arrays.stream(order)
+            .filter(value -> value != position)
+            .toArray();
+    }
+
+    private static BitSet withBit(BitSet bits, int position, boolean value) {
+        BitSet copy = (BitSet) bits.clone();
+        copy.set(position, value);
+        return copy;
+    }
+
+    private static <E extends Enum<E>> Map<E, BitSet> withBit(Map<E, BitSet> index,
+                                                              E key,
+                                                              int position,
+                                                              boolean value) {
+        Map<E, BitSet> copy = new EnumMap<>(index);
+        copy.put(key, withBit(index.getOrDefault(key, NO_BITS), position, value));
+        return copy;
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.github.k7.coursein.index;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseFilter;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CourseEnrolledEvent;
+import com.github.k7.coursein.event.CoursesImportedEvent;
+import com.github.k7.coursein.event.EnrollmentsRemovedEvent;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.repository.CourseRepository;
+import com.github.k7.coursein.service.CourseServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Optional in-process index over the course catalog, enabled with {@code course.catalog.index.enabled=true}.
+ * Reads never touch the database; course writes patch the snapshot once their transaction has committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseCatalogIndex {
+
+    private final CourseRepository courseRepository;
+
+    @Value("${course.catalog.index.enabled:false}")
+    private boolean enabled;
+
+    private volatile CatalogSnapshot snapshot;
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (!enabled) {
+            log.info("Course catalog index is disabled");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+
+        List<CourseSummary> summaries = courseRepository.findAllWithIntendeds().stream()
+            .map(course -> CourseSummary.of(
+                course.getId(),
+                CourseServiceImpl.toCourseResponse(course),
+                course.getEnrollmentCount()
+            ))
+            .collect(Collectors.toList());
+
+        snapshot = CatalogSnapshot.build(summaries);
+
+        log.info("Course catalog index loaded {} courses in {} ms",
+            summaries.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onCourseChanged(CourseChangedEvent event) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            switch (event.getType()) {
+                case CREATED:
+                    snapshot = current.withAdded(CourseSummary.of(event.getCourseId(), event.getCourse(), 0));
+                    break;
+                case UPDATED:
+                    CourseSummary previous = current.get(event.getCourseId());
+                    long enrollmentCount = previous == null ? 0 : previous.getEnrollmentCount();
+                    snapshot = current.withUpdated(
+                        CourseSummary.of(event.getCourseId(), event.getCourse(), enrollmentCount)
+                    );
+                    break;
+                case DELETED:
+                    snapshot = current.withRemoved(event.getCourseId());
+                    break;
+                default:
+                    break;
+            }
+        } catch (RuntimeException exception) {
+            log.error("Failed to patch course catalog index for {}, rebuilding", event, exception);
+            load();
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onCoursesImported(CoursesImportedEvent event) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        snapshot = current.withAddedAll(event.getCourses().entrySet().stream()
+            .map(course -> CourseSummary.of(course.getKey(), course.getValue(), 0))
+            .collect(Collectors.toList()));
+    }
+
+    @TransactionalEventListener
+    public synchronized void onCourseEnrolled(CourseEnrolledEvent event) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        snapshot = withEnrollmentDelta(current, event.getCourseId(), 1);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onEnrollmentsRemoved(EnrollmentsRemovedEvent event) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        for (Long courseId : event.getCourseIds()) {
+            current = withEnrollmentDelta(current, courseId, -1);
+        }
+
+        snapshot = current;
+    }
+
+    private static CatalogSnapshot withEnrollmentDelta(CatalogSnapshot current, Long courseId, long delta) {
+        CourseSummary course = current.get(courseId);
+        if (course == null) {
+            return current;
+        }
+
+        return current.withUpdated(
+            course.toBuilder()
+                .enrollmentCount(Math.max(0, course.getEnrollmentCount() + delta))
+                .build()
+        );
+    }
+
+    public Page<CourseResponse> findAll(CourseType type,
+                                        Set<CourseFilter> filters,
+                                        Set<CourseCategory> categories,
+                                        Set<CourseLevel> levels,
+                                        Pageable pageable) {
+        return snapshot.query(type, filters, categories, levels, pageable)
+            .map(CourseSummary::toCourseResponse);
+    }
+
+}
@@ -0,0 +1,276 @@
+package com.github.k7.coursein.index;
+
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CourseEnrolledEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Co-enrollment counts between every pair of courses, with the {@value #TOP_K} most co-enrolled courses of each
+ * course kept ranked. Enrollments bump the counts as they commit, a deleted course is dropped from its own entry and
+ * from every neighbour's, and a periodic rebuild from user_courses drops whatever the increments cannot see, such as
+ * deleted users.
+ *
+ * <p>Changes committed while a rebuild reads user_courses are queued and replayed onto the rebuilt counts. An
+ * enrollment is skipped if its user already had as many courses in the rebuild's snapshot, since the snapshot
+ * counted it already. Two enrollments of the same user committing together both report the same number of courses,
+ * so one of them can be skipped or counted twice until the next rebuild.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseRelatedIndex {
+
+    public static final int TOP_K = 10;
+
+    private static final String FIND_ENROLLMENTS = "SELECT user_id, course_id FROM user_courses ORDER BY user_id";
+
+    private static final long[] NO_IDS = new long[0];
+
+    private static final int[] NO_COUNTS = new int[0];
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Related> related = new HashMap<>();
+
+    private List<BiConsumer<Map<Long, Related>, LongIntHashMap>> pending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${course.related.rebuild-interval-ms:3600000}",
+        fixedDelayString = "${course.related.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, Related> rebuilt = new HashMap<>();
+        UserCourses userCourses = new UserCourses(rebuilt);
+        jdbcTemplate.query(FIND_ENROLLMENTS, (RowCallbackHandler) resultSet ->
+            userCourses.add(resultSet.getLong(1), resultSet.getLong(2)));
+        userCourses.flush();
+        rebuilt.values().forEach(Related::rank);
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(rebuilt, userCourses.counts));
+            pending = null;
+            related = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Course related index rebuilt {} courses in {} ms",
+            rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onCourseEnrolled(CourseEnrolledEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(related, event);
+            if (pending != null) {
+                pending.add((map, snapshotCounts) -> {
+                    if (snapshotCounts.get(event.getUserId()) < event.getEnrolledCourseIds().size()) {
+                        apply(map, event);
+                    }
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getType() != CourseChangeType.DELETED) {
+            return;
+        }
+
+        long courseId = event.getCourseId();
+        lock.writeLock().lock();
+        try {
+            remove(related, courseId);
+            if (pending != null) {
+                pending.add((map, snapshotCounts) -> remove(map, courseId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> findRelated(Long courseId, int size) {
+        lock.readLock().lock();
+        try {
+            Related entry = related.get(courseId);
+            if (entry == null) {
+                return Collections.emptyList();
+            }
+
+            int limit = Math.min(Math.max(size, 0), entry.top.length);
+            List<Long> ids = new ArrayList<>(limit);
+            for (int i = 0; i < limit; i++) {
+                ids.add(entry.top[i]);
+            }
+
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void apply(Map<Long, Related> related, CourseEnrolledEvent event) {
+        long courseId = event.getCourseId();
+        for (Long otherId : event.getEnrolledCourseIds()) {
+            if (otherId != courseId) {
+                related.computeIfAbsent(courseId, key -> new Related()).increment(otherId);
+                related.computeIfAbsent(otherId, key -> new Related()).increment(courseId);
+            }
+        }
+    }
+
+    private static void remove(Map<Long, Related> related, long courseId) {
+        Related removed = related.remove(courseId);
+        if (removed == null) {
+            return;
+        }
+
+        removed.counts.forEach((otherId, count) -> {
+            Related neighbour = related.get(otherId);
+            if (neighbour != null) {
+                neighbour.remove(courseId);
+            }
+        });
+    }
+
+    private static final class UserCourses {
+
+        private final Map<Long, Related> related;
+
+        private final List<Long> courseIds = new ArrayList<>();
+
+        private final LongIntHashMap counts = new LongIntHashMap();
+
+        private long userId;
+
+        private UserCourses(Map<Long, Related> related) {
+            this.related = related;
+        }
+
+        private void add(long userId, long courseId) {
+            if (userId != this.userId) {
+                flush();
+                this.userId = userId;
+            }
+
+            courseIds.add(courseId);
+            counts.addTo(userId, 1);
+        }
+
+        private void flush() {
+            for (int i = 0; i < courseIds.size(); i++) {
+                Related courseRelated = related.computeIfAbsent(courseIds.get(i), key -> new Related());
+                for (int j = 0; j < courseIds.size(); j++) {
+                    if (i != j) {
+                        courseRelated.counts.addTo(courseIds.get(j), 1);
+                    }
+                }
+            }
+
+            courseIds.clear();
+        }
+
+    }
+
+    private static final class Related {
+
+        private final LongIntHashMap counts = new LongIntHashMap();
+
+        private long[] top = NO_IDS;
+
+        private int[] topCounts = NO_COUNTS;
+
+        private void increment(long courseId) {
+            offer(courseId, counts.addTo(courseId, 1));
+        }
+
+        private void remove(long courseId) {
+            counts.remove(courseId);
+            if (indexOf(courseId) >= 0) {
+                rank();
+            }
+        }
+
+        private void rank() {
+            top = NO_IDS;
+            topCounts = NO_COUNTS;
+            counts.forEach(this::offer);
+        }
+
+        private void offer(long courseId, int count) {
+            int position = indexOf(courseId);
+            if (position < 0) {
+                if (top.length < TOP_K) {
+                    top = Arrays.copyOf(top, top.length + 1);
+                    topCounts = Arrays.copyOf(topCounts, topCounts.length + 1);
+                } else if (!ranksBefore(courseId, count, top.length - 1)) {
+                    return;
+                }
+
+                position = top.length - 1;
+            }
+
+            top[position] = courseId;
+            topCounts[position] = count;
+
+            while (position > 0 && ranksBefore(courseId, count, position - 1)) {
+                top[position] = top[position - 1];
+                topCounts[position] = topCounts[position - 1];
+                top[position - 1] = courseId;
+                topCounts[position - 1] = count;
+                position--;
+            }
+        }
+
+        private int indexOf(long courseId) {
+            for (int i = 0; i < top.length; i++) {
+                if (top[i] == courseId) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        private boolean ranksBefore(long courseId, int count, int position) {
+            return count > topCounts[position] || (count == topCounts[position] && courseId < top[position]);
+        }
+
+    }
+
+}
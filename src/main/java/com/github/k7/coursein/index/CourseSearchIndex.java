@@ -0,0 +1,313 @@
+package com.github.k7.coursein.index;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CoursesImportedEvent;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.repository.CourseRepository;
+import com.github.k7.coursein.service.CourseServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-process inverted index over course name, author, description and intendeds, ranked with BM25.
+ * Matches from the name weigh three times and from the author twice as much as the other fields.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseSearchIndex {
+
+    private static final float K1 = 1.2f;
+
+    private static final float B = 0.75f;
+
+    private static final int NAME_WEIGHT = 3;
+
+    private static final int AUTHOR_WEIGHT = 2;
+
+    private static final int TEXT_WEIGHT = 1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final CourseRepository courseRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private final Map<Long, Integer> documentIds = new HashMap<>();
+
+    private final BitSet deleted = new BitSet();
+
+    private CourseSummary[] documents = new CourseSummary[INITIAL_CAPACITY];
+
+    private int[] lengths = new int[INITIAL_CAPACITY];
+
+    private int documentCount;
+
+    private int liveCount;
+
+    private long totalLength;
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            rebuild(courseRepository.findAllWithIntendeds().stream()
+                .map(course -> CourseSummary.of(
+                    course.getId(),
+                    CourseServiceImpl.toCourseResponse(course),
+                    course.getEnrollmentCount()
+                ))
+                .collect(Collectors.toList()));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Course search index loaded {} courses in {} ms", liveCount, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getCourseId());
+
+            if (event.getCourse() != null) {
+                add(CourseSummary.of(event.getCourseId(), event.getCourse(), 0));
+            }
+
+            if (deleted.cardinality() * 4 > Math.max(liveCount, INITIAL_CAPACITY)) {
+                rebuild(liveDocuments());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCoursesImported(CoursesImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getCourses().forEach((courseId, course) -> add(CourseSummary.of(courseId, course, 0)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Page<CourseResponse> search(String query,
+                                       CourseType type,
+                                       Set<CourseCategory> categories,
+                                       Set<CourseLevel> levels,
+                                       Pageable pageable) {
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.analyze(query));
+
+        lock.readLock().lock();
+        try {
+            float[] scores = new float[documentCount];
+            BitSet matches = new BitSet(documentCount);
+            float averageLength = liveCount == 0 ? 1 : (float) totalLength / liveCount;
+
+            for (String term : terms) {
+                Postings termPostings = postings.get(term);
+                if (termPostings == null || termPostings.live == 0) {
+                    continue;
+                }
+
+                double idf = Math.log(1 + (liveCount - termPostings.live + 0.5) / (termPostings.live + 0.5));
+
+                for (int i = 0; i < termPostings.size; i++) {
+                    int document = termPostings.documents[i];
+                    if (deleted.get(document) || !accepts(documents[document], type, categories, levels)) {
+                        continue;
+                    }
+
+                    int frequency = termPostings.frequencies[i];
+                    float norm = K1 * (1 - B + B * lengths[document] / averageLength);
+                    scores[document] += (float) (idf * frequency * (K1 + 1) / (frequency + norm));
+                    matches.set(document);
+                }
+            }
+
+            List<CourseResponse> content = topDocuments(scores, matches, pageable).stream()
+                .map(document -> documents[document].toCourseResponse())
+                .collect(Collectors.toList());
+
+            return new PageImpl<>(content, pageable, matches.cardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Integer> topDocuments(float[] scores, BitSet matches, Pageable pageable) {
+        int matchCount = matches.cardinality();
+        if (pageable.getOffset() >= matchCount) {
+            return Collections.emptyList();
+        }
+
+        int offset = (int) pageable.getOffset();
+        int limit = (int) Math.min((long) offset + pageable.getPageSize(), matchCount);
+
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, (left, right) -> {
+            int compare = Float.compare(scores[left], scores[right]);
+            return compare != 0 ? compare : Integer.compare(right, left);
+        });
+
+        for (int document = matches.nextSetBit(0); document >= 0; document = matches.nextSetBit(document + 1)) {
+            heap.offer(document);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ranked.add(heap.poll());
+        }
+
+        List<Integer> page = new ArrayList<>();
+        for (int i = ranked.size() - 1 - offset; i >= 0; i--) {
+            page.add(ranked.get(i));
+        }
+
+        return page;
+    }
+
+    private static boolean accepts(CourseSummary course,
+                                   CourseType type,
+                                   Set<CourseCategory> categories,
+                                   Set<CourseLevel> levels) {
+        return (type == null || course.getType() == type)
+            && (categories == null || categories.isEmpty() || categories.contains(course.getCategory()))
+            && (levels == null || levels.isEmpty() || levels.contains(course.getLevel()));
+    }
+
+    private void rebuild(List<CourseSummary> summaries) {
+        postings.clear();
+        documentIds.clear();
+        deleted.clear();
+        documents = new CourseSummary[Math.max(INITIAL_CAPACITY, summaries.size() * 2)];
+        lengths = new int[documents.length];
+        documentCount = 0;
+        liveCount = 0;
+        totalLength = 0;
+
+        summaries.forEach(this::add);
+    }
+
+    private List<CourseSummary> liveDocuments() {
+        List<CourseSummary> summaries = new ArrayList<>(liveCount);
+        for (int document = 0; document < documentCount; document++) {
+            if (!deleted.get(document)) {
+                summaries.add(documents[document]);
+            }
+        }
+
+        return summaries;
+    }
+
+    private void add(CourseSummary course) {
+        if (documentCount == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+            lengths = Arrays.copyOf(lengths, lengths.length * 2);
+        }
+
+        int document = documentCount++;
+        Map<String, Integer> frequencies = termFrequencies(course);
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        documents[document] = course;
+        lengths[document] = length;
+        documentIds.put(course.getId(), document);
+        liveCount++;
+        totalLength += length;
+
+        frequencies.forEach((term, frequency) ->
+            postings.computeIfAbsent(term, key -> new Postings()).add(document, frequency));
+    }
+
+    private void remove(Long courseId) {
+        Integer document = documentIds.remove(courseId);
+        if (document == null) {
+            return;
+        }
+
+        termFrequencies(documents[document]).keySet()
+            .forEach(term -> postings.get(term).live--);
+
+        deleted.set(document);
+        liveCount--;
+        totalLength -= lengths[document];
+    }
+
+    private static Map<String, Integer> termFrequencies(CourseSummary course) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        countTerms(frequencies, course.getName(), NAME_WEIGHT);
+        countTerms(frequencies, course.getAuthor(), AUTHOR_WEIGHT);
+        countTerms(frequencies, course.getDescription(), TEXT_WEIGHT);
+        course.getIntendeds().forEach(purpose -> countTerms(frequencies, purpose, TEXT_WEIGHT));
+        return frequencies;
+    }
+
+    private static void countTerms(Map<String, Integer> frequencies, String text, int weight) {
+        TextAnalyzer.analyze(text).forEach(term -> frequencies.merge(term, weight, Integer::sum));
+    }
+
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+
+        private int[] frequencies = new int[4];
+
+        private int size;
+
+        private int live;
+
+        private void add(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+            live++;
+        }
+
+    }
+
+}
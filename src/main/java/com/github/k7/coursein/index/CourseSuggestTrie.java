@@ -0,0 +1,392 @@
+package com.github.k7.coursein.index;
+
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CourseEnrolledEvent;
+import com.github.k7.coursein.event.CoursesImportedEvent;
+import com.github.k7.coursein.event.EnrollmentsRemovedEvent;
+import com.github.k7.coursein.model.SuggestionResponse;
+import com.github.k7.coursein.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Radix trie over normalized course codes and every word suffix of course names. Each node keeps the
+ * {@value #TOP_K} most popular courses of its subtree, so a lookup is a walk down the prefix and nothing else.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseSuggestTrie {
+
+    public static final int TOP_K = 10;
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Comparator<Entry> RANKING = Comparator
+        .<Entry>comparingLong(Entry::getPopularity).reversed()
+        .thenComparing(Entry::getName)
+        .thenComparing(Entry::getCourseId);
+
+    private final CourseRepository courseRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private Node root = new Node("");
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            root = new Node("");
+            entries.clear();
+
+            courseRepository.findAllForSuggestion().forEach(row -> insert(new Entry(
+                (Long) row[0], (String) row[1], (String) row[2], (Long) row[3]
+            )));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Course suggest trie loaded {} courses in {} ms",
+            entries.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(event.getCourseId());
+            if (previous != null) {
+                remove(previous);
+            }
+
+            if (event.getCourse() != null) {
+                insert(new Entry(
+                    event.getCourseId(),
+                    event.getCourse().getCode(),
+                    event.getCourse().getName(),
+                    previous == null ? 0 : previous.getPopularity()
+                ));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCoursesImported(CoursesImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getCourses().forEach((courseId, course) ->
+                insert(new Entry(courseId, course.getCode(), course.getName(), 0)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCourseEnrolled(CourseEnrolledEvent event) {
+        lock.writeLock().lock();
+        try {
+            addPopularity(event.getCourseId(), 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEnrollmentsRemoved(EnrollmentsRemovedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getCourseIds().forEach(courseId -> addPopularity(courseId, -1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SuggestionResponse> suggest(String prefix, int size) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+
+            return Arrays.stream(node.top)
+                .limit(Math.max(0, Math.min(size, TOP_K)))
+                .map(entry -> SuggestionResponse.builder()
+                    .code(entry.getCode())
+                    .name(entry.getName())
+                    .build())
+                .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        int position = 0;
+
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                return null;
+            }
+
+            int remaining = key.length() - position;
+            if (child.label.length() > remaining) {
+                return child.label.regionMatches(0, key, position, remaining) ? child : null;
+            }
+
+            if (!key.regionMatches(position, child.label, 0, child.label.length())) {
+                return null;
+            }
+
+            position += child.label.length();
+            node = child;
+        }
+
+        return node;
+    }
+
+    private void addPopularity(Long courseId, long delta) {
+        Entry previous = entries.get(courseId);
+        if (previous != null) {
+            remove(previous);
+            insert(new Entry(
+                previous.getCourseId(),
+                previous.getCode(),
+                previous.getName(),
+                Math.max(0, previous.getPopularity() + delta)
+            ));
+        }
+    }
+
+    private void insert(Entry entry) {
+        entries.put(entry.getCourseId(), entry);
+        keysOf(entry).forEach(key -> insert(key, entry));
+    }
+
+    private void insert(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.addChild(child);
+                position = key.length();
+            } else {
+                int common = commonPrefixLength(child.label, key, position);
+                if (common < child.label.length()) {
+                    child = node.split(child, common);
+                }
+                position += common;
+            }
+
+            node = child;
+            path.add(node);
+        }
+
+        node.terminals.add(entry);
+        recompute(path);
+    }
+
+    private void remove(Entry entry) {
+        entries.remove(entry.getCourseId());
+        keysOf(entry).forEach(key -> remove(key, entry));
+    }
+
+    private void remove(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+
+        while (position < key.length()) {
+            node = node.child(key.charAt(position));
+            if (node == null || !key.startsWith(node.label, position)) {
+                return;
+            }
+
+            position += node.label.length();
+            path.add(node);
+        }
+
+        node.terminals.removeIf(terminal -> terminal.getCourseId().equals(entry.getCourseId()));
+
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            if (current.terminals.isEmpty() && current.children.length == 0) {
+                path.get(i - 1).removeChild(current);
+            }
+        }
+
+        recompute(path);
+    }
+
+    private static void recompute(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+
+            List<Entry> candidates = new ArrayList<>(node.terminals);
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+
+            candidates.sort(RANKING);
+
+            Set<Long> seen = new HashSet<>();
+            node.top = candidates.stream()
+                .filter(entry -> seen.add(entry.getCourseId()))
+                .limit(TOP_K)
+                .toArray(Entry[]::new);
+        }
+    }
+
+    private static Set<String> keysOf(Entry entry) {
+        Set<String> keys = new LinkedHashSet<>();
+
+        String code = normalize(entry.getCode());
+        if (!code.isEmpty()) {
+            keys.add(code);
+        }
+
+        String name = normalize(entry.getName());
+        for (int start = 0; start < name.length(); start = name.indexOf(' ', start) + 1) {
+            keys.add(name.substring(start));
+            if (name.indexOf(' ', start) < 0) {
+                break;
+            }
+        }
+
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        return TextAnalyzer.normalize(text)
+            .replaceAll("[^\\p{L}\\p{Nd}]+", " ")
+            .trim();
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+
+        return common;
+    }
+
+    @Value
+    private static class Entry {
+
+        Long courseId;
+
+        String code;
+
+        String name;
+
+        long popularity;
+
+    }
+
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private String label;
+
+        private Node[] children = NO_CHILDREN;
+
+        private final List<Entry> terminals = new ArrayList<>(1);
+
+        private Entry[] top = NO_ENTRIES;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char current = children[middle].label.charAt(0);
+                if (current < first) {
+                    low = middle + 1;
+                } else if (current > first) {
+                    high = middle - 1;
+                } else {
+                    return children[middle];
+                }
+            }
+
+            return null;
+        }
+
+        private void addChild(Node child) {
+            Node[] grown = Arrays.copyOf(children, children.length + 1);
+            grown[children.length] = child;
+            Arrays.sort(grown, Comparator.comparing(node -> node.label.charAt(0)));
+            children = grown;
+        }
+
+        private void removeChild(Node child) {
+            children = Arrays.stream(children)
+                .filter(node -> node != child)
+                .toArray(Node[]::new);
+        }
+
+        private Node split(Node child, int length) {
+            Node middle = new Node(child.label.substring(0, length));
+            child.label = child.label.substring(length);
+            middle.children = new Node[]{child};
+            middle.top = child.top;
+
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == child) {
+                    children[i] = middle;
+                }
+            }
+
+            return middle;
+        }
+
+    }
+
+}
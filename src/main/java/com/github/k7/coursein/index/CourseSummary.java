@@ -0,0 +1,84 @@
+package com.github.k7.coursein.index;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.model.CourseResponse;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+@Value
+@Builder(toBuilder = true)
+public class CourseSummary {
+
+    Long id;
+
+    String code;
+
+    String name;
+
+    String author;
+
+    String description;
+
+    Double price;
+
+    String link;
+
+    CourseCategory category;
+
+    CourseType type;
+
+    CourseLevel level;
+
+    String createdAt;
+
+    String updatedAt;
+
+    Set<String> intendeds;
+
+    long enrollmentCount;
+
+    public static CourseSummary of(Long id, CourseResponse course, long enrollmentCount) {
+        return CourseSummary.builder()
+            .id(id)
+            .code(course.getCode())
+            .name(course.getName())
+            .author(course.getAuthor())
+            .description(course.getDescription())
+            .price(course.getPrice())
+            .link(course.getLink())
+            .category(course.getCategory())
+            .type(course.getType())
+            .level(course.getLevel())
+            .createdAt(course.getCreatedAt())
+            .updatedAt(course.getUpdatedAt())
+            .intendeds(course.getIntendeds() == null
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(new HashSet<>(course.getIntendeds())))
+            .enrollmentCount(enrollmentCount)
+            .build();
+    }
+
+    public CourseResponse toCourseResponse() {
+        return CourseResponse.builder()
+            .code(code)
+            .name(name)
+            .author(author)
+            .description(description)
+            .price(price)
+            .link(link)
+            .category(category)
+            .type(type)
+            .level(level)
+            .createdAt(createdAt)
+            .updatedAt(updatedAt)
+            .intendeds(new HashSet<>(intendeds))
+            .build();
+    }
+
+}
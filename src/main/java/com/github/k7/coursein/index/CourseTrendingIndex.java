@@ -0,0 +1,215 @@
+package com.github.k7.coursein.index;
+
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.enums.TrendingWindow;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.OrderCompletedEvent;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.model.TrendingCourseResponse;
+import com.github.k7.coursein.repository.CourseListRow;
+import com.github.k7.coursein.repository.CourseRepository;
+import com.github.k7.coursein.specification.CourseSpecification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Completed orders per course in hourly ring buffers covering the longest {@link TrendingWindow}. The counters are
+ * rebuilt from the orders table at startup and every {@code course.trending.reload-interval-ms}, so payments
+ * completed on other nodes are picked up, and bumped by every payment completed on this node in between. The top
+ * {@value #TOP_N} of each window is recomputed every few seconds, so requests only read the last ranking.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseTrendingIndex {
+
+    public static final int TOP_N = 20;
+
+    private static final int BUCKETS = TrendingWindow.LAST_7D.getHours();
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    private static final String COUNT_COMPLETED_ORDERS = "SELECT course_id, date_trunc('hour', completed_at), "
+        + "COUNT(*) FROM orders WHERE status = 'COMPLETED' AND completed_at >= ? GROUP BY 1, 2";
+
+    private static final Comparator<long[]> RANKING = Comparator
+        .<long[]>comparingLong(entry -> entry[1])
+        .thenComparing(Comparator.<long[]>comparingLong(entry -> entry[0]).reversed());
+
+    private final CourseRepository courseRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private Map<Long, Counter> counters = new HashMap<>();
+
+    private volatile Map<TrendingWindow, List<TrendingCourseResponse>> trending = new EnumMap<>(TrendingWindow.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Replaces the counters with the ones counted from the orders table. A payment committed between the query and
+     * the swap is only counted again by the next reload.
+     */
+    @Scheduled(
+        initialDelayString = "${course.trending.reload-interval-ms:300000}",
+        fixedDelayString = "${course.trending.reload-interval-ms:300000}")
+    public void reload() {
+        long start = System.currentTimeMillis();
+
+        Map<Long, Counter> loaded = new HashMap<>();
+        LocalDateTime since = LocalDateTime.now().minusHours(BUCKETS);
+        jdbcTemplate.query(COUNT_COMPLETED_ORDERS, (RowCallbackHandler) resultSet -> add(
+            loaded, resultSet.getLong(1), hourOf(resultSet.getTimestamp(2).toLocalDateTime()), resultSet.getInt(3)
+        ), since);
+
+        synchronized (this) {
+            counters = loaded;
+        }
+
+        refresh();
+
+        log.info("Course trending index loaded {} courses in {} ms",
+            loaded.size(), System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(
+        initialDelayString = "${course.trending.refresh-interval-ms:5000}",
+        fixedDelayString = "${course.trending.refresh-interval-ms:5000}")
+    public void refresh() {
+        Map<TrendingWindow, List<long[]>> ranked = new EnumMap<>(TrendingWindow.class);
+        synchronized (this) {
+            long now = currentHour();
+            for (TrendingWindow window : TrendingWindow.values()) {
+                ranked.put(window, topOf(window, now));
+            }
+        }
+
+        List<Long> courseIds = ranked.values().stream()
+            .flatMap(List::stream)
+            .map(entry -> entry[0])
+            .distinct()
+            .collect(Collectors.toList());
+
+        Map<Long, CourseResponse> courses = courseIds.isEmpty()
+            ? Collections.emptyMap()
+            : courseRepository.findListRows(CourseSpecification.idIn(courseIds), Sort.unsorted(), courseIds.size())
+                .stream()
+                .collect(Collectors.toMap(CourseListRow::getId, CourseListRow::getCourse));
+
+        Map<TrendingWindow, List<TrendingCourseResponse>> refreshed = new EnumMap<>(TrendingWindow.class);
+        ranked.forEach((window, entries) -> refreshed.put(window, entries.stream()
+            .filter(entry -> courses.containsKey(entry[0]))
+            .map(entry -> new TrendingCourseResponse(courses.get(entry[0]), entry[1]))
+            .collect(Collectors.toList())));
+
+        trending = refreshed;
+    }
+
+    @TransactionalEventListener
+    public synchronized void onOrderCompleted(OrderCompletedEvent event) {
+        add(counters, event.getCourseId(), hourOf(event.getCompletedAt()), 1);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onCourseChanged(CourseChangedEvent event) {
+        if (event.getType() == CourseChangeType.DELETED) {
+            counters.remove(event.getCourseId());
+        }
+    }
+
+    public List<TrendingCourseResponse> findTrending(TrendingWindow window, int size) {
+        List<TrendingCourseResponse> courses = trending.getOrDefault(window, Collections.emptyList());
+        return courses.subList(0, Math.min(Math.max(size, 0), courses.size()));
+    }
+
+    private static void add(Map<Long, Counter> counters, long courseId, long hour, int count) {
+        counters.computeIfAbsent(courseId, key -> new Counter()).add(hour, count);
+    }
+
+    private List<long[]> topOf(TrendingWindow window, long now) {
+        PriorityQueue<long[]> heap = new PriorityQueue<>(TOP_N + 1, RANKING);
+        counters.forEach((courseId, counter) -> {
+            long orders = counter.sum(now, window.getHours());
+            if (orders > 0) {
+                heap.offer(new long[]{courseId, orders});
+                if (heap.size() > TOP_N) {
+                    heap.poll();
+                }
+            }
+        });
+
+        List<long[]> top = new ArrayList<>(heap);
+        top.sort(RANKING.reversed());
+        return top;
+    }
+
+    private static long currentHour() {
+        return System.currentTimeMillis() / MILLIS_PER_HOUR;
+    }
+
+    private static long hourOf(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / MILLIS_PER_HOUR;
+    }
+
+    private static final class Counter {
+
+        private final int[] buckets = new int[BUCKETS];
+
+        private long lastHour;
+
+        private void add(long hour, int count) {
+            advance(hour);
+            if (hour > lastHour - BUCKETS) {
+                buckets[(int) (hour % BUCKETS)] += count;
+            }
+        }
+
+        private long sum(long now, int hours) {
+            advance(now);
+            long sum = 0;
+            for (long hour = now - Math.min(hours, BUCKETS) + 1; hour <= now; hour++) {
+                sum += buckets[(int) (hour % BUCKETS)];
+            }
+
+            return sum;
+        }
+
+        private void advance(long hour) {
+            if (hour <= lastHour) {
+                return;
+            }
+
+            long cleared = Math.min(hour - lastHour, BUCKETS);
+            for (long offset = 1; offset <= cleared; offset++) {
+                buckets[(int) ((lastHour + offset) % BUCKETS)] = 0;
+            }
+
+            lastHour = hour;
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.github.k7.coursein.index;
+
+/**
+ * Open-addressing map from positive {@code long} ids to {@code int} counts, without boxing either side.
+ */
+final class LongIntHashMap {
+
+    private static final long EMPTY = 0L;
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    LongIntHashMap() {
+        keys = new long[MIN_CAPACITY];
+        values = new int[MIN_CAPACITY];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(long key) {
+        int slot = find(keys, key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+
+    int addTo(long key, int delta) {
+        if (key <= EMPTY) {
+            throw new IllegalArgumentException("Key must be positive: " + key);
+        }
+
+        int slot = find(keys, key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+            return values[slot];
+        }
+
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+
+        return delta;
+    }
+
+    /**
+     * Removes the key and returns its count, shifting later entries of the probe sequence back so lookups never
+     * stop at the freed slot.
+     */
+    int remove(long key) {
+        if (key <= EMPTY) {
+            return 0;
+        }
+
+        int slot = find(keys, key);
+        if (keys[slot] != key) {
+            return 0;
+        }
+
+        int removed = values[slot];
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            if (((next - home(keys[next], mask)) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+
+        keys[hole] = EMPTY;
+        values[hole] = 0;
+        size--;
+        return removed;
+    }
+
+    void forEach(Consumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                int target = find(keys, oldKeys[slot]);
+                keys[target] = oldKeys[slot];
+                values[target] = oldValues[slot];
+            }
+        }
+    }
+
+    private static int find(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = home(key, mask);
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private static int home(long key, int mask) {
+        return Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+    }
+
+    @FunctionalInterface
+    interface Consumer {
+
+        void accept(long key, int value);
+
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.github.k7.coursein.index;
+
+import lombok.experimental.UtilityClass;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizer with light Indonesian and English stemming. Index and query text go through the same rules,
+ * so an imperfect stem still matches as long as it is applied consistently.
+ */
+@UtilityClass
+public class TextAnalyzer {
+
+    private final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final int MIN_STEM_LENGTH = 4;
+
+    private final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+        "dan", "yang", "di", "ke", "dari", "untuk", "dengan", "atau", "ini", "itu", "pada", "dalam", "akan",
+        "the", "a", "an", "and", "or", "of", "to", "in", "for", "on", "with", "is", "are", "by"
+    ));
+
+    private final String[] INDONESIAN_PARTICLES = {"kah", "lah", "pun"};
+
+    private final String[] INDONESIAN_POSSESSIVES = {"nya", "ku", "mu"};
+
+    private final String[] INDONESIAN_SUFFIXES = {"kan", "an", "i"};
+
+    private final String[] INDONESIAN_PREFIXES = {
+        "meng", "mem", "men", "me", "peng", "pem", "pen", "pe", "ber", "ter", "di", "ke"
+    };
+
+    public String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    public List<String> analyze(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> terms = new ArrayList<>();
+        for (String token : NON_WORD.split(normalize(text))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+
+        return terms;
+    }
+
+    public String stem(String token) {
+        if (token.length() <= MIN_STEM_LENGTH || !token.chars().allMatch(Character::isLetter)) {
+            return token;
+        }
+
+        String stem = stemIndonesian(token);
+        return stem.equals(token) ? stemEnglish(token) : stem;
+    }
+
+    private String stemIndonesian(String token) {
+        String stem = stripSuffix(token, INDONESIAN_PARTICLES);
+        stem = stripSuffix(stem, INDONESIAN_POSSESSIVES);
+        stem = stripSuffix(stem, INDONESIAN_SUFFIXES);
+
+        if (stem.startsWith("meny") && stem.length() - 4 >= MIN_STEM_LENGTH - 1) {
+            return "s" + stem.substring(4);
+        }
+
+        for (String prefix : INDONESIAN_PREFIXES) {
+            if (stem.startsWith(prefix) && stem.length() - prefix.length() >= MIN_STEM_LENGTH) {
+                return stem.substring(prefix.length());
+            }
+        }
+
+        return stem;
+    }
+
+    private String stemEnglish(String token) {
+        if (token.endsWith("ies") && token.length() > MIN_STEM_LENGTH + 1) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+
+        if (token.endsWith("ing") && token.length() - 3 >= MIN_STEM_LENGTH) {
+            return token.substring(0, token.length() - 3);
+        }
+
+        if (token.endsWith("ed") && token.length() - 2 >= MIN_STEM_LENGTH) {
+            return token.substring(0, token.length() - 2);
+        }
+
+        if (token.endsWith("ly") && token.length() - 2 >= MIN_STEM_LENGTH) {
+            return token.substring(0, token.length() - 2);
+        }
+
+        if (token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us")) {
+            return token.substring(0, token.length() - 1);
+        }
+
+        return token;
+    }
+
+    private String stripSuffix(String token, String[] suffixes) {
+        for (String suffix : suffixes) {
+            if (token.endsWith(suffix) && token.length() - suffix.length() >= MIN_STEM_LENGTH) {
+                return token.substring(0, token.length() - suffix.length());
+            }
+        }
+
+        return token;
+    }
+
+}
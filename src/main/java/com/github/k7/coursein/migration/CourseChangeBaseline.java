@@ -0,0 +1,31 @@
+package com.github.k7.coursein.migration;
+
+import com.github.k7.coursein.repository.CourseChangeRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * One-time seed of the course change log with a CREATED row per existing course, enabled with
+ * {@code migration.course-change-baseline.enabled=true}. Does nothing once the log has any row.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "migration.course-change-baseline.enabled", havingValue = "true")
+public class CourseChangeBaseline implements ApplicationRunner {
+
+    private final CourseChangeRepository courseChangeRepository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int inserted = courseChangeRepository.insertBaseline();
+        log.info("Seeded course change log with {} courses", inserted);
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.github.k7.coursein.migration;
+
+import com.github.k7.coursein.repository.IntendedRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * One-time cleanup of the intendeds rows that course updates used to re-insert, enabled with
+ * {@code migration.duplicate-intended-cleanup.enabled=true}. Keeps the oldest row of every course and purpose pair.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "migration.duplicate-intended-cleanup.enabled", havingValue = "true")
+public class DuplicateIntendedCleanup implements ApplicationRunner {
+
+    private final IntendedRepository intendedRepository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int deleted = intendedRepository.deleteDuplicates();
+        log.info("Deleted {} duplicate intendeds", deleted);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.github.k7.coursein.migration;
+
+import com.github.k7.coursein.repository.CourseRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * One-time backfill of user_courses.enrolled_at from the first completed order of each enrollment, enabled with
+ * {@code migration.enrolled-at-backfill.enabled=true}. Enrollments without a completed order keep the time the column
+ * was added.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "migration.enrolled-at-backfill.enabled", havingValue = "true")
+public class EnrolledAtBackfill implements ApplicationRunner {
+
+    private final CourseRepository courseRepository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int updated = courseRepository.backfillEnrolledAt();
+        log.info("Backfilled enrolled at for {} enrollments", updated);
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.github.k7.coursein.migration;
+
+import com.github.k7.coursein.repository.CourseRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * One-time recount of courses.enrollment_count from user_courses, enabled with
+ * {@code migration.enrollment-count-backfill.enabled=true}. Safe to re-run, it always recounts from scratch.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "migration.enrollment-count-backfill.enabled", havingValue = "true")
+public class EnrollmentCountBackfill implements ApplicationRunner {
+
+    private final CourseRepository courseRepository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int updated = courseRepository.backfillEnrollmentCount();
+        log.info("Backfilled enrollment count for {} courses", updated);
+    }
+
+}
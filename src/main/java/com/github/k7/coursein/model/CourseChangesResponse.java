@@ -0,0 +1,24 @@
+package com.github.k7.coursein.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CourseChangesResponse {
+
+    private long version;
+
+    private boolean hasMore;
+
+    private List<CourseResponse> courses;
+
+    private List<String> deleted;
+
+}
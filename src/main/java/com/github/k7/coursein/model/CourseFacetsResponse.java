@@ -0,0 +1,25 @@
+package com.github.k7.coursein.model;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CourseFacetsResponse {
+
+    private Map<CourseType, Long> types;
+
+    private Map<CourseCategory, Long> categories;
+
+    private Map<CourseLevel, Long> levels;
+
+}
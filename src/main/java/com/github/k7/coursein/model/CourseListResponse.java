@@ -0,0 +1,20 @@
+package com.github.k7.coursein.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CourseListResponse {
+
+    private List<CourseResponse> courses;
+
+    private CourseFacetsResponse facets;
+
+}
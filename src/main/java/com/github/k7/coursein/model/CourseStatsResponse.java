@@ -0,0 +1,27 @@
+package com.github.k7.coursein.model;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CourseStatsResponse {
+
+    private long total;
+
+    private Map<CourseType, Long> types;
+
+    private Map<CourseCategory, Long> categories;
+
+    private Map<CourseLevel, Long> levels;
+
+}
@@ -0,0 +1,36 @@
+package com.github.k7.coursein.model;
+
+import com.github.k7.coursein.util.PageCursor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    private String nextCursor;
+
+    public static <E, T> CursorPage<T> of(List<E> rows,
+                                          int size,
+                                          Function<E, PageCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+
+        return CursorPage.<T>builder()
+            .content(page.stream().map(mapper).collect(Collectors.toList()))
+            .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null)
+            .build();
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.github.k7.coursein.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportCourseError {
+
+    private long row;
+
+    private String code;
+
+    private String message;
+
+}
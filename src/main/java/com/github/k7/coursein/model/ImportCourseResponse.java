@@ -0,0 +1,22 @@
+package com.github.k7.coursein.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportCourseResponse {
+
+    private int total;
+
+    private int imported;
+
+    private List<ImportCourseError> errors;
+
+}
@@ -0,0 +1,18 @@
+package com.github.k7.coursein.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SuggestionResponse {
+
+    private String code;
+
+    private String name;
+
+}
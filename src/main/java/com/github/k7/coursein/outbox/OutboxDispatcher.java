@@ -0,0 +1,129 @@
+package com.github.k7.coursein.outbox;
+
+import com.github.k7.coursein.entity.OutboxMessage;
+import com.github.k7.coursein.enums.OutboxMessageType;
+import com.github.k7.coursein.event.OrderCompletedEvent;
+import com.github.k7.coursein.repository.OutboxMessageRepository;
+import com.github.k7.coursein.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Side effects of completed orders, written to {@code outbox_messages} in the paying transaction and delivered by a
+ * scheduled dispatcher. A batch is leased in a short transaction by locking it with {@code FOR UPDATE SKIP LOCKED}
+ * and moving {@code available_at} past the lease, so other nodes skip it without holding row locks while mail is
+ * sent. Sending happens outside any transaction, and a second short transaction deletes the delivered messages and
+ * reschedules failed ones with exponential backoff. Delivery is at least once: a message whose lease expires before
+ * it is settled is sent again.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    private final OrderService orderService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final long leaseSeconds;
+
+    public OutboxDispatcher(OutboxMessageRepository outboxMessageRepository,
+                            OrderService orderService,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${order.outbox.batch-size:50}") int batchSize,
+                            @Value("${order.outbox.lease-seconds:300}") long leaseSeconds) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.orderService = orderService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    @EventListener
+    public void onOrderCompleted(OrderCompletedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxMessageRepository.save(OutboxMessage.builder()
+            .type(OutboxMessageType.PAYMENT_EMAIL)
+            .orderId(event.getOrderId())
+            .recipient(event.getEmail())
+            .availableAt(now)
+            .createdAt(now)
+            .build());
+    }
+
+    @Scheduled(
+        initialDelayString = "${order.outbox.dispatch-interval-ms:1000}",
+        fixedDelayString = "${order.outbox.dispatch-interval-ms:1000}")
+    public void dispatch() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+
+    int dispatchBatch() {
+        List<OutboxMessage> messages = transactionTemplate.execute(status -> claim());
+        if (messages == null || messages.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> delivered = new ArrayList<>(messages.size());
+        List<OutboxMessage> failed = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            try {
+                deliver(message);
+                delivered.add(message.getId());
+            } catch (RuntimeException exception) {
+                log.warn("Failed to deliver {} of order {} (attempt {})",
+                    message.getType(), message.getOrderId(), message.getAttempts() + 1, exception);
+                failed.add(message);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> settle(delivered, failed));
+        return messages.size();
+    }
+
+    private List<OutboxMessage> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages = outboxMessageRepository.lockAvailable(now, batchSize);
+        messages.forEach(message -> message.setAvailableAt(now.plusSeconds(leaseSeconds)));
+        return messages;
+    }
+
+    private void settle(List<Long> delivered, List<OutboxMessage> failed) {
+        if (!delivered.isEmpty()) {
+            outboxMessageRepository.deleteByIds(delivered);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxMessage message : failed) {
+            int attempts = message.getAttempts() + 1;
+            outboxMessageRepository.reschedule(message.getId(), attempts, now.plusSeconds(backoffSeconds(attempts)));
+        }
+    }
+
+    static long backoffSeconds(int attempts) {
+        return Math.min(1L << Math.min(attempts, 12), MAX_BACKOFF_SECONDS);
+    }
+
+    private void deliver(OutboxMessage message) {
+        if (message.getType() == OutboxMessageType.PAYMENT_EMAIL) {
+            orderService.sendPaymentMessageToEmail(message.getRecipient());
+        }
+    }
+
+}
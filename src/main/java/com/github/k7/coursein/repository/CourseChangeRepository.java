@@ -0,0 +1,23 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.entity.CourseChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CourseChangeRepository extends JpaRepository<CourseChange, Long>, CourseChangeRepositoryCustom {
+
+    List<CourseChange> findByVersionGreaterThanOrderByVersionAsc(Long version, Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO course_changes (course_id, code, type, changed_at) "
+        + "SELECT id, code, 'CREATED', now() FROM courses "
+        + "WHERE NOT EXISTS (SELECT 1 FROM course_changes) ORDER BY id", nativeQuery = true)
+    int insertBaseline();
+
+}
@@ -0,0 +1,11 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.enums.CourseChangeType;
+
+import java.util.Map;
+
+public interface CourseChangeRepositoryCustom {
+
+    void append(CourseChangeType type, Map<Long, String> codes);
+
+}
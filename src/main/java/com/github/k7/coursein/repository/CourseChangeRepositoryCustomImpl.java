@@ -0,0 +1,51 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.util.TimeUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Appends take a transaction-scoped advisory lock before drawing their versions, so change-log rows commit in
+ * version order and a reader that saw version {@code n} can never later find an uncommitted row below it.
+ *
+ * <p>The lock is one global key held until commit, so it serializes every catalog writer from its append onwards:
+ * course creates, updates and deletes, and each chunk of a CSV or NDJSON import, which waits for the chunk before it
+ * to commit. Writers append as late in their transaction as possible to keep that window short.
+ */
+@RequiredArgsConstructor
+public class CourseChangeRepositoryCustomImpl implements CourseChangeRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final long APPEND_LOCK = "course_changes".hashCode();
+
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(?)";
+
+    private static final String INSERT_CHANGE =
+        "INSERT INTO course_changes (course_id, code, type, changed_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void append(CourseChangeType type, Map<Long, String> codes) {
+        if (codes.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.queryForList(LOCK, APPEND_LOCK);
+
+        LocalDateTime now = TimeUtil.getFormattedLocalDateTimeNow();
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, new ArrayList<>(codes.entrySet()), BATCH_SIZE, (statement, entry) -> {
+            statement.setLong(1, entry.getKey());
+            statement.setString(2, entry.getValue());
+            statement.setString(3, type.name());
+            statement.setObject(4, now);
+        });
+    }
+
+}
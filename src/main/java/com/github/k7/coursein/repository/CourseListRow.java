@@ -0,0 +1,22 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.model.CourseResponse;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class CourseListRow {
+
+    Long id;
+
+    LocalDateTime createdAt;
+
+    /**
+     * When the user enrolled, set only when the specification joins {@code enrollments}.
+     */
+    LocalDateTime enrolledAt;
+
+    CourseResponse course;
+
+}
@@ -1,30 +1,71 @@
 package com.github.k7.coursein.repository;
 
 import com.github.k7.coursein.entity.Course;
-import com.github.k7.coursein.entity.User;
-import com.github.k7.coursein.enums.CourseCategory;
-import com.github.k7.coursein.enums.CourseLevel;
 import com.github.k7.coursein.enums.CourseType;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import com.github.k7.coursein.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>,
+    JpaSpecificationExecutor<Course>,
+    CourseRepositoryCustom {
 
     Optional<Course> findByCode(String code);
 
     boolean existsByCode(String code);
 
+    @Query("SELECT c.id FROM Course c WHERE c.code = :code")
+    Optional<Long> findIdByCode(@Param("code") String code);
+
     boolean existsByNameOrLink(String name, String link);
 
     Long countByType(CourseType courseType);
 
-    List<Course> findAllByUsers(User user);
+    @Query("SELECT c.type, c.category, c.level, COUNT(c) FROM Course c GROUP BY c.type, c.category, c.level")
+    List<Object[]> countByTypeCategoryLevel();
+
+    @Query("SELECT c.code, c.name, c.link FROM Course c "
+        + "WHERE c.code IN :codes OR c.name IN :names OR c.link IN :links")
+    List<Object[]> findConflicts(@Param("codes") Collection<String> codes,
+                                 @Param("names") Collection<String> names,
+                                 @Param("links") Collection<String> links);
+
+    @Query("SELECT DISTINCT c FROM Course c LEFT JOIN FETCH c.intendeds")
+    List<Course> findAllWithIntendeds();
+
+    @Query("SELECT c.id, c.code, c.name, c.enrollmentCount FROM Course c")
+    List<Object[]> findAllForSuggestion();
+
+    @Modifying
+    @Query("UPDATE Course c SET c.enrollmentCount = c.enrollmentCount + 1 WHERE c.id = :courseId")
+    int incrementEnrollmentCount(@Param("courseId") Long courseId);
+
+    @Query("SELECT uc.id FROM User u JOIN u.courses uc WHERE u.id = :userId")
+    List<Long> findEnrolledCourseIds(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Course c SET c.enrollmentCount = c.enrollmentCount - 1 "
+        + "WHERE c.id IN (SELECT uc.id FROM User u JOIN u.courses uc WHERE u.id = :userId)")
+    int decrementEnrollmentCountByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE courses c SET enrollment_count = "
+        + "(SELECT COUNT(*) FROM user_courses uc WHERE uc.course_id = c.id)", nativeQuery = true)
+    int backfillEnrollmentCount();
+
+    @Modifying
+    @Query(value = "UPDATE user_courses uc SET enrolled_at = o.completed_at "
+        + "FROM (SELECT user_id, course_id, MIN(completed_at) AS completed_at FROM orders "
+        + "WHERE status = 'COMPLETED' AND completed_at IS NOT NULL GROUP BY user_id, course_id) o "
+        + "WHERE uc.user_id = o.user_id AND uc.course_id = o.course_id", nativeQuery = true)
+    int backfillEnrolledAt();
 
 }
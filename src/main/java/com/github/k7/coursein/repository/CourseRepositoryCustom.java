@@ -0,0 +1,21 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.entity.Course;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface CourseRepositoryCustom {
+
+    Page<CourseListRow> findListRows(Specification<Course> specification, Pageable pageable);
+
+    List<CourseListRow> findListRows(Specification<Course> specification, Sort sort, int limit);
+
+    List<Object[]> countByTypeCategoryLevel(Specification<Course> specification);
+
+    void insertAll(List<Course> courses);
+
+}
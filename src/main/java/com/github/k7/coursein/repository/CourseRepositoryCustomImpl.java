@@ -0,0 +1,246 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.entity.Course;
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.util.TimeUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class CourseRepositoryCustomImpl implements CourseRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String ID = "id";
+
+    private static final String CREATED_AT = "createdAt";
+
+    private static final String TYPE = "type";
+
+    private static final String CATEGORY = "category";
+
+    private static final String LEVEL = "level";
+
+    private static final String ENROLLMENTS = "enrollments";
+
+    private static final String ENROLLED_AT = "enrolledAt";
+
+    private static final String[] LIST_COLUMNS = {
+        ID, "code", "name", "author", "description", "price", "link", "category", "type", "level", CREATED_AT,
+        "updatedAt"
+    };
+
+    private static final String FIND_PURPOSES =
+        "SELECT i.course.id, i.purpose FROM Intended i WHERE i.course.id IN :courseIds";
+
+    private static final String INSERT_COURSE = "INSERT INTO courses "
+        + "(id, code, name, author, description, price, link, category, type, level, created_at, updated_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<CourseListRow> findListRows(Specification<Course> specification, Pageable pageable) {
+        List<CourseListRow> rows = findListRows(specification, pageable.getSort(), query -> query
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize()));
+
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(specification));
+    }
+
+    @Override
+    public List<CourseListRow> findListRows(Specification<Course> specification, Sort sort, int limit) {
+        return findListRows(specification, sort, query -> query.setMaxResults(limit));
+    }
+
+    private List<CourseListRow> findListRows(Specification<Course> specification,
+                                             Sort sort,
+                                             UnaryOperator<TypedQuery<Tuple>> window) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Course> root = query.from(Course.class);
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        List<Selection<?>> selections = Arrays.stream(LIST_COLUMNS)
+            .<Selection<?>>map(column -> root.get(column).alias(column))
+            .collect(Collectors.toCollection(ArrayList::new));
+        Optional<Join<Course, ?>> enrollment = joinOf(root, ENROLLMENTS);
+        enrollment.ifPresent(join -> selections.add(join.get(ENROLLED_AT).alias(ENROLLED_AT)));
+        query.multiselect(selections);
+
+        if (sort.isSorted()) {
+            query.orderBy(toOrders(sort, root, builder));
+        }
+
+        List<Tuple> tuples = window.apply(entityManager.createQuery(query)).getResultList();
+        Map<Long, Set<String>> intendeds = findPurposes(tuples.stream()
+            .map(tuple -> tuple.get(ID, Long.class))
+            .collect(Collectors.toList()));
+
+        return tuples.stream()
+            .map(tuple -> toListRow(
+                tuple,
+                intendeds.getOrDefault(tuple.get(ID, Long.class), new HashSet<>()),
+                enrollment.isPresent() ? tuple.get(ENROLLED_AT, LocalDateTime.class) : null
+            ))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Like {@code QueryUtils.toOrders}, but a {@code join.attribute} property is resolved on the join the specification
+     * already made, so sorting by it never adds a second join that would repeat rows.
+     */
+    private static List<Order> toOrders(Sort sort, Root<Course> root, CriteriaBuilder builder) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            int dot = property.indexOf('.');
+            Path<?> path = dot < 0
+                ? root.get(property)
+                : joinOf(root, property.substring(0, dot))
+                    .orElseGet(() -> root.join(property.substring(0, dot)))
+                    .get(property.substring(dot + 1));
+            orders.add(order.isAscending() ? builder.asc(path) : builder.desc(path));
+        }
+
+        return orders;
+    }
+
+    private static Optional<Join<Course, ?>> joinOf(Root<Course> root, String attribute) {
+        return root.getJoins().stream()
+            .filter(join -> join.getAttribute().getName().equals(attribute))
+            .findFirst();
+    }
+
+    private long count(Specification<Course> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Course> root = query.from(Course.class);
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query.select(builder.count(root))).getSingleResult();
+    }
+
+    @Override
+    public List<Object[]> countByTypeCategoryLevel(Specification<Course> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+        Root<Course> root = query.from(Course.class);
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        query.multiselect(root.get(TYPE), root.get(CATEGORY), root.get(LEVEL), builder.count(root))
+            .groupBy(root.get(TYPE), root.get(CATEGORY), root.get(LEVEL));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private Map<Long, Set<String>> findPurposes(List<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Object[]> rows = entityManager.createQuery(FIND_PURPOSES, Object[].class)
+            .setParameter("courseIds", courseIds)
+            .getResultList();
+
+        Map<Long, Set<String>> purposes = new HashMap<>();
+        rows.forEach(row -> purposes.computeIfAbsent((Long) row[0], key -> new HashSet<>()).add((String) row[1]));
+        return purposes;
+    }
+
+    private static CourseListRow toListRow(Tuple tuple, Set<String> intendeds, LocalDateTime enrolledAt) {
+        LocalDateTime createdAt = tuple.get(CREATED_AT, LocalDateTime.class);
+
+        CourseResponse course = CourseResponse.builder()
+            .code(tuple.get("code", String.class))
+            .name(tuple.get("name", String.class))
+            .author(tuple.get("author", String.class))
+            .description(tuple.get("description", String.class))
+            .price(tuple.get("price", Double.class))
+            .link(tuple.get("link", String.class))
+            .category(tuple.get("category", CourseCategory.class))
+            .type(tuple.get("type", CourseType.class))
+            .level(tuple.get("level", CourseLevel.class))
+            .createdAt(TimeUtil.formatToString(createdAt))
+            .updatedAt(TimeUtil.formatToString(tuple.get("updatedAt", LocalDateTime.class)))
+            .intendeds(intendeds)
+            .build();
+
+        return new CourseListRow(tuple.get(ID, Long.class), createdAt, enrolledAt, course);
+    }
+
+    @Override
+    public void insertAll(List<Course> courses) {
+        if (courses.isEmpty()) {
+            return;
+        }
+
+        Iterator<Long> ids = SerialIds.next(jdbcTemplate, "courses", courses.size()).iterator();
+        courses.forEach(course -> course.setId(ids.next()));
+
+        jdbcTemplate.batchUpdate(INSERT_COURSE, courses, BATCH_SIZE, (statement, course) -> {
+            statement.setLong(1, course.getId());
+            statement.setString(2, course.getCode());
+            statement.setString(3, course.getName());
+            statement.setString(4, course.getAuthor());
+            statement.setString(5, course.getDescription());
+            statement.setDouble(6, course.getPrice());
+            statement.setString(7, course.getLink());
+            statement.setString(8, course.getCategory().name());
+            statement.setString(9, course.getType().name());
+            statement.setString(10, course.getLevel().name());
+            statement.setObject(11, course.getCreatedAt());
+            statement.setObject(12, course.getUpdatedAt());
+        });
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.OrderStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class DashboardRow {
+
+    String username;
+
+    CourseCategory category;
+
+    String courseName;
+
+    OrderStatus status;
+
+    LocalDateTime completedAt;
+
+}
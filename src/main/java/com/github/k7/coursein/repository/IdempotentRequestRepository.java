@@ -0,0 +1,36 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.entity.IdempotentRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotentRequestRepository extends JpaRepository<IdempotentRequest, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO idempotent_requests (idempotency_key, request_hash, created_at, expires_at) "
+        + "VALUES (:key, :requestHash, :createdAt, :expiresAt) "
+        + "ON CONFLICT (idempotency_key) DO UPDATE SET request_hash = EXCLUDED.request_hash, response = NULL, "
+        + "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at "
+        + "WHERE idempotent_requests.expires_at < EXCLUDED.created_at", nativeQuery = true)
+    int claim(@Param("key") String key,
+              @Param("requestHash") String requestHash,
+              @Param("createdAt") LocalDateTime createdAt,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotentRequest r SET r.response = :response WHERE r.key = :key")
+    int saveResponse(@Param("key") String key, @Param("response") String response);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotentRequest r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+}
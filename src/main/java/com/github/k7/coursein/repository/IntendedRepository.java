@@ -1,9 +1,22 @@
 package com.github.k7.coursein.repository;
 
+import com.github.k7.coursein.entity.Course;
 import com.github.k7.coursein.entity.Intended;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface IntendedRepository extends JpaRepository<Intended, Long> {
+public interface IntendedRepository extends JpaRepository<Intended, Long>, IntendedRepositoryCustom {
+
+    List<Intended> findAllByCourse(Course course);
+
+    @Modifying
+    @Query(value = "DELETE FROM intendeds i USING intendeds d "
+        + "WHERE i.course_id = d.course_id AND i.purpose = d.purpose AND i.id > d.id", nativeQuery = true)
+    int deleteDuplicates();
+
 }
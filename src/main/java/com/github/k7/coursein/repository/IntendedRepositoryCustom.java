@@ -0,0 +1,11 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.entity.Intended;
+
+import java.util.List;
+
+public interface IntendedRepositoryCustom {
+
+    void insertAll(List<Intended> intendeds);
+
+}
@@ -0,0 +1,35 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.entity.Intended;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class IntendedRepositoryCustomImpl implements IntendedRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_INTENDED = "INSERT INTO intendeds (id, purpose, course_id) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Intended> intendeds) {
+        if (intendeds.isEmpty()) {
+            return;
+        }
+
+        Iterator<Long> ids = SerialIds.next(jdbcTemplate, "intendeds", intendeds.size()).iterator();
+        intendeds.forEach(intended -> intended.setId(ids.next()));
+
+        jdbcTemplate.batchUpdate(INSERT_INTENDED, intendeds, BATCH_SIZE, (statement, intended) -> {
+            statement.setLong(1, intended.getId());
+            statement.setString(2, intended.getPurpose());
+            statement.setLong(3, intended.getCourse().getId());
+        });
+    }
+
+}
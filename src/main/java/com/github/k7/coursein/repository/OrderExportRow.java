@@ -0,0 +1,33 @@
+package com.github.k7.coursein.repository;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Value
+public class OrderExportRow {
+
+    String id;
+
+    String username;
+
+    String courseCode;
+
+    String courseName;
+
+    String category;
+
+    String status;
+
+    String paymentMethod;
+
+    BigDecimal coursePrice;
+
+    BigDecimal totalTransfer;
+
+    LocalDateTime createdAt;
+
+    LocalDateTime completedAt;
+
+}
@@ -0,0 +1,30 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.enums.OrderPaymentMethod;
+import com.github.k7.coursein.enums.OrderStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class OrderListRow {
+
+    String id;
+
+    String username;
+
+    String courseName;
+
+    Double coursePrice;
+
+    LocalDateTime createdAt;
+
+    LocalDateTime completedAt;
+
+    OrderPaymentMethod paymentMethod;
+
+    OrderStatus status;
+
+    Double totalTransfer;
+
+}
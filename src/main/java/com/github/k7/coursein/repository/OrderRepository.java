@@ -6,13 +6,41 @@ import com.github.k7.coursein.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, String> {
+public interface OrderRepository extends JpaRepository<Order, String>, OrderRepositoryCustom {
+
+    String LIST_ROW = "SELECT new com.github.k7.coursein.repository.OrderListRow("
+        + "o.id, u.username, c.name, c.price, o.createdAt, o.completedAt, o.paymentMethod, o.status, o.totalTransfer) "
+        + "FROM Order o JOIN o.user u JOIN o.course c ";
 
     boolean existsByUserAndCourse(User user, Course course);
 
-    Page<Order> findAllByUser(User user, Pageable pageable);
+    @Query(value = LIST_ROW + "WHERE o.user = :user ORDER BY o.createdAt DESC, o.id DESC",
+        countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user = :user")
+    Page<OrderListRow> findListRowsByUser(@Param("user") User user, Pageable pageable);
+
+    @Query(LIST_ROW + "WHERE o.user = :user ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderListRow> findListRowsByUserNewest(@Param("user") User user, Pageable pageable);
+
+    @Query(LIST_ROW + "WHERE o.user = :user "
+        + "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) "
+        + "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderListRow> findListRowsByUserBefore(@Param("user") User user,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") String id,
+                                                Pageable pageable);
+
+    @Query(value = "SELECT new com.github.k7.coursein.repository.DashboardRow("
+        + "u.username, c.category, c.name, o.status, o.completedAt) "
+        + "FROM Order o JOIN o.user u JOIN o.course c",
+        countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<DashboardRow> findDashboardRows(Pageable pageable);
 
 }
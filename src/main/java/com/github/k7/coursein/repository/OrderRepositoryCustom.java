@@ -0,0 +1,12 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+public interface OrderRepositoryCustom {
+
+    void forEachExportRow(OrderStatus status, LocalDateTime from, LocalDateTime to, Consumer<OrderExportRow> consumer);
+
+}
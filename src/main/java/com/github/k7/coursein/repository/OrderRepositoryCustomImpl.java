@@ -0,0 +1,87 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.enums.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Export rows are read through a forward-only cursor of {@link #FETCH_SIZE} rows, which PostgreSQL only honours inside
+ * a transaction, so callers must hold one. The query has no ORDER BY, so rows stream as the scan produces them instead
+ * of after sorting the whole table.
+ */
+@RequiredArgsConstructor
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT_EXPORT_ROWS = "SELECT o.id, u.username, c.code, c.name, c.category, o.status, "
+        + "o.payment_method, c.price, o.total_transfer, o.created_at, o.completed_at "
+        + "FROM orders o JOIN users u ON u.id = o.user_id JOIN courses c ON c.id = o.course_id WHERE TRUE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void forEachExportRow(OrderStatus status,
+                                 LocalDateTime from,
+                                 LocalDateTime to,
+                                 Consumer<OrderExportRow> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_EXPORT_ROWS);
+        List<Object> args = new ArrayList<>();
+
+        if (status != null) {
+            sql.append(" AND o.status = ?");
+            args.add(status.name());
+        }
+
+        if (from != null) {
+            sql.append(" AND o.created_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+
+        if (to != null) {
+            sql.append(" AND o.created_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+            );
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, resultSet -> consumer.accept(toExportRow(resultSet)));
+    }
+
+    private static OrderExportRow toExportRow(ResultSet resultSet) throws SQLException {
+        return new OrderExportRow(
+            resultSet.getString(1),
+            resultSet.getString(2),
+            resultSet.getString(3),
+            resultSet.getString(4),
+            resultSet.getString(5),
+            resultSet.getString(6),
+            resultSet.getString(7),
+            resultSet.getBigDecimal(8),
+            resultSet.getBigDecimal(9),
+            toLocalDateTime(resultSet.getTimestamp(10)),
+            toLocalDateTime(resultSet.getTimestamp(11))
+        );
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    @Query(value = "SELECT * FROM outbox_messages WHERE available_at <= :now ORDER BY available_at, id "
+        + "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> lockAvailable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.attempts = :attempts, m.availableAt = :availableAt WHERE m.id = :id")
+    int reschedule(@Param("id") Long id,
+                   @Param("attempts") int attempts,
+                   @Param("availableAt") LocalDateTime availableAt);
+
+}
@@ -0,0 +1,17 @@
+package com.github.k7.coursein.repository;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@UtilityClass
+class SerialIds {
+
+    private final String NEXT_IDS = "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+
+    List<Long> next(JdbcTemplate jdbcTemplate, String table, int count) {
+        return jdbcTemplate.queryForList(NEXT_IDS, Long.class, table, count);
+    }
+
+}
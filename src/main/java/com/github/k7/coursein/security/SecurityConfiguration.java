@@ -57,6 +57,7 @@ public class SecurityConfiguration {
             .antMatchers(HttpMethod.GET, "/api/v1/users/count/**").hasRole(UserRole.ADMIN.name())
             .antMatchers(HttpMethod.GET, "/api/v1/courses/count/**").hasRole(UserRole.ADMIN.name())
             .antMatchers(HttpMethod.GET, "/api/v1/courses/count/premium/**").hasRole(UserRole.ADMIN.name())
+            .antMatchers(HttpMethod.GET, "/api/v1/courses/stats/**").hasRole(UserRole.ADMIN.name())
             .antMatchers(HttpMethod.GET, "/api/v1/courses").permitAll()
             .antMatchers(HttpMethod.GET, "/api/v1/courses/{courseCode}").permitAll()
             .antMatchers(HttpMethod.GET, "/api/v1/users/{username}").hasRole(UserRole.USER.name())
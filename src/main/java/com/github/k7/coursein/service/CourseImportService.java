@@ -0,0 +1,12 @@
+package com.github.k7.coursein.service;
+
+import com.github.k7.coursein.model.ImportCourseResponse;
+import org.springframework.http.MediaType;
+
+import java.io.InputStream;
+
+public interface CourseImportService {
+
+    ImportCourseResponse importCourses(InputStream input, MediaType contentType);
+
+}
@@ -0,0 +1,443 @@
+package com.github.k7.coursein.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.k7.coursein.entity.Course;
+import com.github.k7.coursein.entity.Intended;
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.event.CoursesImportedEvent;
+import com.github.k7.coursein.model.AddCourseRequest;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.model.ImportCourseError;
+import com.github.k7.coursein.model.ImportCourseResponse;
+import com.github.k7.coursein.repository.CourseChangeRepository;
+import com.github.k7.coursein.repository.CourseRepository;
+import com.github.k7.coursein.repository.IntendedRepository;
+import com.github.k7.coursein.util.CsvReader;
+import com.github.k7.coursein.util.TimeUtil;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.validation.ConstraintViolationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+public class CourseImportServiceImpl implements CourseImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String INTENDED_SEPARATOR = "\\|";
+
+    private final CourseRepository courseRepository;
+
+    private final IntendedRepository intendedRepository;
+
+    private final CourseChangeRepository courseChangeRepository;
+
+    private final ValidationService validationService;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public ImportCourseResponse importCourses(InputStream input, MediaType contentType) {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, charset));
+        RowReader rows = rowReader(contentType, reader);
+
+        List<ImportCourseError> errors = new ArrayList<>();
+        Seen seen = new Seen();
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        int total = 0;
+        int imported = 0;
+
+        try {
+            for (ImportRow row = rows.next(); row != null; row = rows.next()) {
+                total++;
+                chunk.add(row);
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    imported += importChunk(chunk, seen, errors);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException exception) {
+            log.warn("Course import stopped after {} rows", total, exception);
+            errors.add(new ImportCourseError(rows.position(), null, "Unreadable input: " + exception.getMessage()));
+        }
+
+        imported += importChunk(chunk, seen, errors);
+        errors.sort(Comparator.comparingLong(ImportCourseError::getRow));
+
+        log.info("Imported {} of {} courses, {} rows rejected", imported, total, errors.size());
+
+        return ImportCourseResponse.builder()
+            .total(total)
+            .imported(imported)
+            .errors(errors)
+            .build();
+    }
+
+    private int importChunk(List<ImportRow> chunk, Seen seen, List<ImportCourseError> errors) {
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+
+        for (ImportRow row : chunk) {
+            String error = row.getError() != null ? row.getError() : validate(row.getRequest(), seen);
+            if (error != null) {
+                errors.add(new ImportCourseError(row.getRow(), codeOf(row), error));
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> existingCodes = new HashSet<>();
+        Set<String> existingNames = new HashSet<>();
+        Set<String> existingLinks = new HashSet<>();
+        courseRepository.findConflicts(
+            accepted.stream().map(row -> row.getRequest().getCode()).collect(Collectors.toList()),
+            accepted.stream().map(row -> row.getRequest().getName()).collect(Collectors.toList()),
+            accepted.stream().map(row -> row.getRequest().getLink()).collect(Collectors.toList())
+        ).forEach(conflict -> {
+            existingCodes.add((String) conflict[0]);
+            existingNames.add((String) conflict[1]);
+            existingLinks.add((String) conflict[2]);
+        });
+
+        List<ImportRow> inserted = new ArrayList<>(accepted.size());
+        for (ImportRow row : accepted) {
+            AddCourseRequest request = row.getRequest();
+            if (existingCodes.contains(request.getCode())) {
+                errors.add(new ImportCourseError(
+                    row.getRow(), request.getCode(), "Course with code : " + request.getCode() + " already exist"
+                ));
+            } else if (existingNames.contains(request.getName()) || existingLinks.contains(request.getLink())) {
+                errors.add(new ImportCourseError(row.getRow(), request.getCode(), "Name or link course already exist"));
+            } else {
+                inserted.add(row);
+            }
+        }
+
+        if (inserted.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = TimeUtil.getFormattedLocalDateTimeNow();
+        List<Course> courses = inserted.stream()
+            .map(row -> toCourse(row.getRequest(), now))
+            .collect(Collectors.toList());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                courseRepository.insertAll(courses);
+                intendedRepository.insertAll(courses.stream()
+                    .flatMap(course -> course.getIntendeds().stream())
+                    .collect(Collectors.toList()));
+
+                Map<Long, String> codes = new LinkedHashMap<>();
+                courses.forEach(course -> codes.put(course.getId(), course.getCode()));
+                courseChangeRepository.append(CourseChangeType.CREATED, codes);
+
+                Map<Long, CourseResponse> responses = new LinkedHashMap<>();
+                courses.forEach(course -> responses.put(course.getId(), CourseServiceImpl.toCourseResponse(course)));
+                eventPublisher.publishEvent(new CoursesImportedEvent(responses));
+            });
+        } catch (DataAccessException exception) {
+            log.warn("Failed to insert {} imported courses", courses.size(), exception);
+            inserted.forEach(row -> errors.add(
+                new ImportCourseError(row.getRow(), row.getRequest().getCode(), "Failed to insert course")
+            ));
+            return 0;
+        }
+
+        return courses.size();
+    }
+
+    private String validate(AddCourseRequest request, Seen seen) {
+        try {
+            validationService.validate(request);
+        } catch (ConstraintViolationException exception) {
+            return exception.getMessage();
+        }
+
+        request.setCode(request.getCode().toUpperCase());
+        request.setIntendeds(request.getIntendeds().stream()
+            .map(String::trim)
+            .filter(purpose -> !purpose.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new)));
+
+        if (request.getPrice() == 0.0 && request.getType().equals(CourseType.PREMIUM)) {
+            request.setType(CourseType.FREE);
+        }
+
+        if (request.getPrice() > 0.0 && request.getType().equals(CourseType.FREE)) {
+            request.setType(CourseType.PREMIUM);
+        }
+
+        if (seen.codes.contains(request.getCode())) {
+            return "Duplicate code in import";
+        }
+
+        if (seen.names.contains(request.getName()) || seen.links.contains(request.getLink())) {
+            return "Duplicate name or link in import";
+        }
+
+        seen.codes.add(request.getCode());
+        seen.names.add(request.getName());
+        seen.links.add(request.getLink());
+        return null;
+    }
+
+    private static Course toCourse(AddCourseRequest request, LocalDateTime now) {
+        Course course = Course.builder()
+            .code(request.getCode())
+            .name(request.getName())
+            .author(request.getAuthor())
+            .description(request.getDescription())
+            .price(request.getPrice())
+            .link(request.getLink())
+            .category(request.getCategory())
+            .type(request.getType())
+            .level(request.getLevel())
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+
+        course.setIntendeds(request.getIntendeds().stream()
+            .map(purpose -> Intended.builder()
+                .purpose(purpose)
+                .course(course)
+                .build())
+            .collect(Collectors.toSet()));
+
+        return course;
+    }
+
+    private static String codeOf(ImportRow row) {
+        return row.getRequest() != null ? row.getRequest().getCode() : null;
+    }
+
+    private RowReader rowReader(MediaType contentType, BufferedReader reader) {
+        if (MediaType.APPLICATION_NDJSON.includes(contentType)) {
+            return new NdjsonRowReader(reader);
+        }
+
+        if (MediaType.parseMediaType(TEXT_CSV_VALUE).includes(contentType)) {
+            return new CsvRowReader(new CsvReader(reader));
+        }
+
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Import must be CSV or NDJSON");
+    }
+
+    private interface RowReader {
+
+        ImportRow next() throws IOException;
+
+        long position();
+
+    }
+
+    @Value
+    private static class ImportRow {
+
+        long row;
+
+        AddCourseRequest request;
+
+        String error;
+
+    }
+
+    private static final class Seen {
+
+        private final Set<String> codes = new HashSet<>();
+
+        private final Set<String> names = new HashSet<>();
+
+        private final Set<String> links = new HashSet<>();
+
+    }
+
+    private final class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+
+        private long line;
+
+        private NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.trim().isEmpty());
+
+            if (text == null) {
+                return null;
+            }
+
+            try {
+                return new ImportRow(line, objectMapper.readValue(text, AddCourseRequest.class), null);
+            } catch (JsonProcessingException exception) {
+                return new ImportRow(line, null, "Malformed JSON: " + exception.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public long position() {
+            return line;
+        }
+
+    }
+
+    private static final class CsvRowReader implements RowReader {
+
+        private final CsvReader reader;
+
+        private Map<String, Integer> header;
+
+        private long record;
+
+        private CsvRowReader(CsvReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            if (header == null) {
+                List<String> names = reader.readRecord();
+                record++;
+                if (names == null) {
+                    return null;
+                }
+
+                header = new HashMap<>();
+                for (int i = 0; i < names.size(); i++) {
+                    header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+                }
+            }
+
+            List<String> fields;
+            do {
+                fields = reader.readRecord();
+                record++;
+            } while (fields != null && fields.size() == 1 && fields.get(0).trim().isEmpty());
+
+            if (fields == null) {
+                return null;
+            }
+
+            if (fields.size() != header.size()) {
+                return new ImportRow(
+                    record, null, "Expected " + header.size() + " columns but found " + fields.size()
+                );
+            }
+
+            try {
+                return new ImportRow(record, toRequest(fields), null);
+            } catch (IllegalArgumentException exception) {
+                return new ImportRow(record, null, exception.getMessage());
+            }
+        }
+
+        @Override
+        public long position() {
+            return record;
+        }
+
+        private AddCourseRequest toRequest(List<String> fields) {
+            String price = field(fields, "price");
+            String intendeds = field(fields, "intendeds");
+
+            return AddCourseRequest.builder()
+                .code(field(fields, "code"))
+                .name(field(fields, "name"))
+                .author(field(fields, "author"))
+                .description(field(fields, "description"))
+                .price(price == null ? null : parsePrice(price))
+                .link(field(fields, "link"))
+                .category(enumOf(CourseCategory.class, "category", field(fields, "category")))
+                .type(enumOf(CourseType.class, "type", field(fields, "type")))
+                .level(enumOf(CourseLevel.class, "level", field(fields, "level")))
+                .intendeds(intendeds == null
+                    ? null
+                    : new LinkedHashSet<>(Arrays.asList(intendeds.split(INTENDED_SEPARATOR))))
+                .build();
+        }
+
+        private String field(List<String> fields, String name) {
+            Integer index = header.get(name);
+            if (index == null) {
+                return null;
+            }
+
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static Double parsePrice(String price) {
+            try {
+                return Double.valueOf(price);
+            } catch (NumberFormatException exception) {
+                throw new IllegalArgumentException("Invalid price: " + price);
+            }
+        }
+
+        private static <E extends Enum<E>> E enumOf(Class<E> type, String name, String value) {
+            if (value == null) {
+                return null;
+            }
+
+            try {
+                return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException exception) {
+                throw new IllegalArgumentException("Invalid " + name + ": " + value);
+            }
+        }
+
+    }
+
+}
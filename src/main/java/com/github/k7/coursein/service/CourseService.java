@@ -3,12 +3,21 @@ package com.github.k7.coursein.service;
 import com.github.k7.coursein.enums.CourseCategory;
 import com.github.k7.coursein.enums.CourseFilter;
 import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseSort;
 import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.enums.TrendingWindow;
 import com.github.k7.coursein.model.AddCourseRequest;
+import com.github.k7.coursein.model.CourseChangesResponse;
+import com.github.k7.coursein.model.CourseFacetsResponse;
 import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.model.CourseStatsResponse;
+import com.github.k7.coursein.model.CursorPage;
+import com.github.k7.coursein.model.SuggestionResponse;
+import com.github.k7.coursein.model.TrendingCourseResponse;
 import com.github.k7.coursein.model.UpdateCourseRequest;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
 import java.util.Set;
 
 public interface CourseService {
@@ -21,8 +30,41 @@ public interface CourseService {
                                       Set<CourseFilter> filters,
                                       Set<CourseCategory> categories,
                                       Set<CourseLevel> levels,
+                                      Double minPrice,
+                                      Double maxPrice,
+                                      CourseSort sort,
                                       int page, int size);
 
+    CourseFacetsResponse getCourseFacets(CourseType type,
+                                         Set<CourseFilter> filters,
+                                         Set<CourseCategory> categories,
+                                         Set<CourseLevel> levels,
+                                         Double minPrice,
+                                         Double maxPrice);
+
+    CursorPage<CourseResponse> getAllCourseByCursor(CourseType type,
+                                                    Set<CourseFilter> filters,
+                                                    Set<CourseCategory> categories,
+                                                    Set<CourseLevel> levels,
+                                                    Double minPrice,
+                                                    Double maxPrice,
+                                                    CourseSort sort,
+                                                    String cursor, int size);
+
+    Page<CourseResponse> searchCourse(String query,
+                                      CourseType type,
+                                      Set<CourseCategory> categories,
+                                      Set<CourseLevel> levels,
+                                      int page, int size);
+
+    List<SuggestionResponse> suggestCourse(String prefix, int size);
+
+    CourseChangesResponse getCourseChanges(long since, int size);
+
+    List<CourseResponse> getRelatedCourses(String code, int size);
+
+    List<TrendingCourseResponse> getTrendingCourses(TrendingWindow window, int size);
+
     Page<CourseResponse> getAllCourseUser(String username,
                                           CourseType type,
                                           Set<CourseFilter> filters,
@@ -30,6 +72,13 @@ public interface CourseService {
                                           Set<CourseLevel> levels,
                                           int page, int size);
 
+    CursorPage<CourseResponse> getAllCourseUserByCursor(String username,
+                                                        CourseType type,
+                                                        Set<CourseFilter> filters,
+                                                        Set<CourseCategory> categories,
+                                                        Set<CourseLevel> levels,
+                                                        String cursor, int size);
+
     CourseResponse updateCourse(String code, UpdateCourseRequest request);
 
     void deleteCourse(String code);
@@ -38,4 +87,6 @@ public interface CourseService {
 
     long countPremiumCourse();
 
+    CourseStatsResponse getCourseStats();
+
 }
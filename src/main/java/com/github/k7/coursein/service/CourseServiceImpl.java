@@ -1,32 +1,60 @@
 package com.github.k7.coursein.service;
 
+import com.github.k7.coursein.cache.CourseStatsCache;
 import com.github.k7.coursein.entity.Course;
+import com.github.k7.coursein.entity.CourseChange;
 import com.github.k7.coursein.entity.Intended;
 import com.github.k7.coursein.entity.User;
 import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseChangeType;
 import com.github.k7.coursein.enums.CourseFilter;
 import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseSort;
 import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.enums.TrendingWindow;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.index.CourseCatalogIndex;
+import com.github.k7.coursein.index.CourseRelatedIndex;
+import com.github.k7.coursein.index.CourseSearchIndex;
+import com.github.k7.coursein.index.CourseSuggestTrie;
+import com.github.k7.coursein.index.CourseTrendingIndex;
 import com.github.k7.coursein.model.AddCourseRequest;
+import com.github.k7.coursein.model.CourseChangesResponse;
+import com.github.k7.coursein.model.CourseFacetsResponse;
 import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.model.CourseStatsResponse;
+import com.github.k7.coursein.model.CursorPage;
+import com.github.k7.coursein.model.SuggestionResponse;
+import com.github.k7.coursein.model.TrendingCourseResponse;
 import com.github.k7.coursein.model.UpdateCourseRequest;
+import com.github.k7.coursein.repository.CourseChangeRepository;
+import com.github.k7.coursein.repository.CourseListRow;
 import com.github.k7.coursein.repository.CourseRepository;
+import com.github.k7.coursein.repository.IntendedRepository;
 import com.github.k7.coursein.repository.UserRepository;
+import com.github.k7.coursein.specification.CourseSpecification;
+import com.github.k7.coursein.util.PageCursor;
 import com.github.k7.coursein.util.TimeUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -42,8 +70,47 @@ public class CourseServiceImpl implements CourseService {
 
     private final UserRepository userRepository;
 
+    private final IntendedRepository intendedRepository;
+
+    private final CourseChangeRepository courseChangeRepository;
+
+    private final CourseCatalogIndex courseCatalogIndex;
+
+    private final CourseSearchIndex courseSearchIndex;
+
+    private final CourseSuggestTrie courseSuggestTrie;
+
+    private final CourseStatsCache courseStatsCache;
+
+    private final CourseRelatedIndex courseRelatedIndex;
+
+    private final CourseTrendingIndex courseTrendingIndex;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     private static final String COURSE_NOT_FOUND_MESSAGE = "Course not found";
 
+    private static final int MAX_CHANGES = 1000;
+
+    private static final int MAX_SEARCH_SIZE = 100;
+
+    private static final int MAX_SEARCH_WINDOW = 10_000;
+
+    private static final Sort NEWEST_SORT = Sort.by(Sort.Direction.DESC, "createdAt")
+        .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    private static final Sort POPULAR_SORT = Sort.by(Sort.Direction.DESC, "enrollmentCount")
+        .and(NEWEST_SORT);
+
+    private static final Sort PRICE_ASC_SORT = Sort.by(Sort.Direction.ASC, "price")
+        .and(Sort.by(Sort.Direction.ASC, "id"));
+
+    private static final Sort PRICE_DESC_SORT = Sort.by(Sort.Direction.DESC, "price")
+        .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    private static final Sort ENROLLED_SORT = Sort.by(Sort.Direction.DESC, "enrollments.enrolledAt")
+        .and(Sort.by(Sort.Direction.DESC, "id"));
+
     @Override
     @Transactional
     public CourseResponse addCourse(AddCourseRequest request) {
@@ -91,9 +158,15 @@ public class CourseServiceImpl implements CourseService {
         course.setIntendeds(intendeds);
 
         courseRepository.save(course);
+        recordChange(CourseChangeType.CREATED, course);
         log.info("Course saved successfully");
 
-        return toCourseResponse(course);
+        CourseResponse courseResponse = toCourseResponse(course);
+        eventPublisher.publishEvent(
+            new CourseChangedEvent(CourseChangeType.CREATED, course.getId(), course.getCode(), courseResponse, null)
+        );
+
+        return courseResponse;
     }
 
     private static void mapIntendedStringToObject(Set<String> request,
@@ -131,150 +204,373 @@ public class CourseServiceImpl implements CourseService {
                                              Set<CourseFilter> filters,
                                              Set<CourseCategory> categories,
                                              Set<CourseLevel> levels,
+                                             Double minPrice,
+                                             Double maxPrice,
+                                             CourseSort sort,
                                              int page, int size) {
         log.info("Fetching all available courses. Page: {}, Size: {}", page, size);
 
-        PageRequest pageRequest = PageRequest.of(page, size);
-        List<Course> courses = courseRepository.findAll();
-        return filteringAndPagingCourse(type, filters, categories, levels, pageRequest, courses);
+        if (courseCatalogIndex.isReady() && minPrice == null && maxPrice == null && sort == null) {
+            return courseCatalogIndex.findAll(type, filters, categories, levels, PageRequest.of(page, size));
+        }
+
+        Specification<Course> specification = filterSpecification(type, categories, levels)
+            .and(priceSpecification(minPrice, maxPrice));
+
+        if (filters != null && filters.contains(CourseFilter.POPULAR)) {
+            specification = specification.and(CourseSpecification.isPopular());
+        }
+
+        PageRequest pageRequest = PageRequest.of(page, size, sortOf(resolveSort(filters, sort)));
+        Page<CourseResponse> courseResponses = courseRepository.findListRows(specification, pageRequest)
+            .map(CourseListRow::getCourse);
+
+        log.info("Returning {} courses on page {} of size {}",
+            courseResponses.getNumberOfElements(),
+            pageRequest.getPageNumber(),
+            pageRequest.getPageSize()
+        );
+
+        return courseResponses;
     }
 
     @Override
-    public Page<CourseResponse> getAllCourseUser(String username, CourseType type, Set<CourseFilter> filters, Set<CourseCategory> categories, Set<CourseLevel> levels, int page, int size) {
-        log.info("Fetching all user courses. Page: {}, Size: {}", page, size);
+    @Transactional(readOnly = true)
+    public CourseFacetsResponse getCourseFacets(CourseType type,
+                                                Set<CourseFilter> filters,
+                                                Set<CourseCategory> categories,
+                                                Set<CourseLevel> levels,
+                                                Double minPrice,
+                                                Double maxPrice) {
+        Specification<Course> specification = Specification.where(priceSpecification(minPrice, maxPrice));
+        if (filters != null && filters.contains(CourseFilter.POPULAR)) {
+            specification = specification.and(CourseSpecification.isPopular());
+        }
+
+        Map<CourseType, Long> types = zeros(CourseType.class);
+        Map<CourseCategory, Long> categoryCounts = zeros(CourseCategory.class);
+        Map<CourseLevel, Long> levelCounts = zeros(CourseLevel.class);
+
+        for (Object[] row : courseRepository.countByTypeCategoryLevel(specification)) {
+            CourseType rowType = (CourseType) row[0];
+            CourseCategory rowCategory = (CourseCategory) row[1];
+            CourseLevel rowLevel = (CourseLevel) row[2];
+            Long count = (Long) row[3];
+
+            boolean typeMatches = type == null || type == rowType;
+            boolean categoryMatches = categories == null || categories.isEmpty() || categories.contains(rowCategory);
+            boolean levelMatches = levels == null || levels.isEmpty() || levels.contains(rowLevel);
+
+            if (categoryMatches && levelMatches) {
+                types.merge(rowType, count, Long::sum);
+            }
+
+            if (typeMatches && levelMatches) {
+                categoryCounts.merge(rowCategory, count, Long::sum);
+            }
+
+            if (typeMatches && categoryMatches) {
+                levelCounts.merge(rowLevel, count, Long::sum);
+            }
+        }
+
+        return CourseFacetsResponse.builder()
+            .types(types)
+            .categories(categoryCounts)
+            .levels(levelCounts)
+            .build();
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeros(Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counts.put(value, 0L);
+        }
+
+        return counts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CourseResponse> getAllCourseByCursor(CourseType type,
+                                                           Set<CourseFilter> filters,
+                                                           Set<CourseCategory> categories,
+                                                           Set<CourseLevel> levels,
+                                                           Double minPrice,
+                                                           Double maxPrice,
+                                                           CourseSort sort,
+                                                           String cursor, int size) {
+        log.info("Fetching all available courses. Cursor: {}, Size: {}", cursor, size);
+
+        Specification<Course> specification = filterSpecification(type, categories, levels)
+            .and(priceSpecification(minPrice, maxPrice));
+
+        return seekCourses(specification, resolveSort(filters, sort), cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CourseResponse> getAllCourseUserByCursor(String username,
+                                                               CourseType type,
+                                                               Set<CourseFilter> filters,
+                                                               Set<CourseCategory> categories,
+                                                               Set<CourseLevel> levels,
+                                                               String cursor, int size) {
+        log.info("Fetching all user courses. Cursor: {}, Size: {}", cursor, size);
 
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
         validationService.validateAuth(user);
 
-        PageRequest pageRequest = PageRequest.of(page, size);
-        List<Course> courses = courseRepository.findAllByUsers(user);
-        return filteringAndPagingCourse(type, filters, categories, levels, pageRequest, courses);
-    }
+        CourseSort sort = resolveSort(filters, null);
+        if (sort != null) {
+            return seekCourses(filterSpecification(type, categories, levels)
+                .and(CourseSpecification.enrolledBy(user.getId())), sort, cursor, size);
+        }
 
-    private Page<CourseResponse> filteringAndPagingCourse(CourseType type, Set<CourseFilter> filters, Set<CourseCategory> categories, Set<CourseLevel> levels, PageRequest pageRequest, List<Course> courses) {
-        List<Course> filteredCourses = filterCourses(type, filters, categories, levels, courses);
-        List<CourseResponse> courseResponses = paginateAndConvertToResponse(pageRequest, filteredCourses);
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be greater than zero");
+        }
 
-        log.info("Returning {} courses on page {} of size {}",
-            courseResponses.size(),
-            pageRequest.getPageNumber(),
-            pageRequest.getPageSize()
+        PageCursor pageCursor = cursor == null || cursor.isEmpty() ? null : PageCursor.decode(cursor);
+        Specification<Course> specification = filterSpecification(type, categories, levels)
+            .and(CourseSpecification.enrolledBefore(
+                user.getId(),
+                pageCursor == null ? null : pageCursor.getCreatedAt(),
+                pageCursor == null ? null : pageCursor.getIdAsLong()
+            ));
+
+        List<CourseListRow> rows = courseRepository.findListRows(specification, ENROLLED_SORT, size + 1);
+
+        return CursorPage.of(
+            rows,
+            size,
+            row -> PageCursor.of(row.getEnrolledAt(), row.getId()),
+            CourseListRow::getCourse
         );
+    }
+
+    private CursorPage<CourseResponse> seekCourses(Specification<Course> specification,
+                                                   CourseSort sort,
+                                                   String cursor, int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be greater than zero");
+        }
+
+        if (sort != null && sort != CourseSort.NEWEST) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor paging only supports NEWEST order");
+        }
+
+        if (cursor != null && !cursor.isEmpty()) {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            specification = specification.and(
+                CourseSpecification.createdBefore(pageCursor.getCreatedAt(), pageCursor.getIdAsLong())
+            );
+        }
+
+        List<CourseListRow> rows = courseRepository.findListRows(specification, NEWEST_SORT, size + 1);
 
-        return new PageImpl<>(courseResponses, pageRequest, filteredCourses.size());
+        return CursorPage.of(
+            rows,
+            size,
+            row -> PageCursor.of(row.getCreatedAt(), row.getId()),
+            CourseListRow::getCourse
+        );
     }
 
-    private List<Course> filterCourses(CourseType type, Set<CourseFilter> filters,
-                                       Set<CourseCategory> categories, Set<CourseLevel> levels,
-                                       List<Course> courses) {
-        List<Course> filteredCourses;
+    @Override
+    public Page<CourseResponse> searchCourse(String query,
+                                             CourseType type,
+                                             Set<CourseCategory> categories,
+                                             Set<CourseLevel> levels,
+                                             int page, int size) {
+        log.info("Searching courses. Query: {}, Page: {}, Size: {}", query, page, size);
+
+        if (query == null || query.trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query must not be blank");
+        }
 
-        if (type == null && filters == null && categories == null && levels == null) {
-            filteredCourses = courses;
-        } else {
-            filteredCourses = new LinkedList<>();
+        if (!courseSearchIndex.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is not ready");
         }
 
-        filteredCourses = applyFilterByType(type, courses, filteredCourses);
-        filteredCourses = applyFilter(filters, courses, filteredCourses);
-        filteredCourses = applyFilterByCategories(categories, courses, filteredCourses);
-        filteredCourses = applyFilterByLevels(levels, courses, filteredCourses);
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+        int offsetPage = Math.max(0, Math.min(page, MAX_SEARCH_WINDOW / limit));
+
+        return courseSearchIndex.search(query, type, categories, levels, PageRequest.of(offsetPage, limit));
+    }
 
-        return filteredCourses;
+    @Override
+    public List<SuggestionResponse> suggestCourse(String prefix, int size) {
+        return courseSuggestTrie.suggest(prefix, size);
     }
 
-    private List<CourseResponse> paginateAndConvertToResponse(PageRequest pageRequest, List<Course> filteredCourses) {
-        int start = (int) pageRequest.getOffset();
-        int end = Math.min((start + pageRequest.getPageSize()), filteredCourses.size());
+    @Override
+    @Transactional(readOnly = true)
+    public CourseChangesResponse getCourseChanges(long since, int size) {
+        if (since < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Version must not be negative");
+        }
 
-        List<Course> pageContent = filteredCourses.subList(start, end);
-        return pageContent.stream()
-            .map(CourseServiceImpl::toCourseResponse)
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be greater than zero");
+        }
+
+        int limit = Math.min(size, MAX_CHANGES);
+        List<CourseChange> changes = courseChangeRepository
+            .findByVersionGreaterThanOrderByVersionAsc(since, PageRequest.of(0, limit));
+
+        Map<Long, CourseChange> latest = new LinkedHashMap<>();
+        changes.forEach(change -> latest.put(change.getCourseId(), change));
+
+        List<Long> liveIds = latest.values().stream()
+            .filter(change -> change.getType() != CourseChangeType.DELETED)
+            .map(CourseChange::getCourseId)
             .collect(Collectors.toList());
-    }
 
-    private static List<Course> applyFilterByLevels(Set<CourseLevel> levels,
-                                                    List<Course> courses,
-                                                    List<Course> filteredCourses) {
-        List<Course> filteredCoursesByLevels;
-        if (levels != null && !levels.isEmpty()) {
-            filteredCoursesByLevels = new LinkedList<>();
-            if (!filteredCourses.isEmpty()) {
-                levels
-                    .forEach(level -> filteredCourses.stream()
-                        .filter(course -> course.getLevel().equals(level))
-                        .forEach(filteredCoursesByLevels::add));
+        Map<Long, CourseResponse> courses = liveIds.isEmpty()
+            ? Collections.emptyMap()
+            : courseRepository.findListRows(CourseSpecification.idIn(liveIds), Sort.unsorted(), liveIds.size())
+                .stream()
+                .collect(Collectors.toMap(CourseListRow::getId, CourseListRow::getCourse));
+
+        List<CourseResponse> changed = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        latest.values().forEach(change -> {
+            CourseResponse course = courses.get(change.getCourseId());
+            if (course == null) {
+                deleted.add(change.getCode());
             } else {
-                levels
-                    .forEach(level -> courses.stream()
-                        .filter(course -> course.getLevel().equals(level))
-                        .forEach(filteredCoursesByLevels::add));
+                changed.add(course);
             }
-        } else {
-            filteredCoursesByLevels = filteredCourses;
+        });
+
+        return CourseChangesResponse.builder()
+            .version(changes.isEmpty() ? since : changes.get(changes.size() - 1).getVersion())
+            .hasMore(changes.size() == limit)
+            .courses(changed)
+            .deleted(deleted)
+            .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseResponse> getRelatedCourses(String code, int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be greater than zero");
         }
 
-        return filteredCoursesByLevels;
+        Long courseId = courseRepository.findIdByCode(code)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, COURSE_NOT_FOUND_MESSAGE));
+
+        List<Long> relatedIds = courseRelatedIndex.findRelated(courseId, size);
+        if (relatedIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, CourseResponse> courses = courseRepository
+            .findListRows(CourseSpecification.idIn(relatedIds), Sort.unsorted(), relatedIds.size()).stream()
+            .collect(Collectors.toMap(CourseListRow::getId, CourseListRow::getCourse));
+
+        return relatedIds.stream()
+            .map(courses::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
     }
 
-    private static List<Course> applyFilterByCategories(Set<CourseCategory> categories,
-                                                        List<Course> courses,
-                                                        List<Course> filteredCourses) {
-        List<Course> filteredCoursesByCategories;
-        if (categories != null && !categories.isEmpty()) {
-            filteredCoursesByCategories = new LinkedList<>();
-            if (!filteredCourses.isEmpty()) {
-                categories
-                    .forEach(category -> filteredCourses.stream()
-                        .filter(course -> course.getCategory().equals(category))
-                        .forEach(filteredCoursesByCategories::add));
-            } else {
-                categories
-                    .forEach(category -> courses.stream()
-                        .filter(course -> course.getCategory().equals(category))
-                        .forEach(filteredCoursesByCategories::add));
-            }
-        } else {
-            filteredCoursesByCategories = filteredCourses;
+    @Override
+    public List<TrendingCourseResponse> getTrendingCourses(TrendingWindow window, int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be greater than zero");
         }
 
-        return filteredCoursesByCategories;
+        return courseTrendingIndex.findTrending(window, size);
     }
 
-    private static List<Course> applyFilter(Set<CourseFilter> filters,
-                                            List<Course> courses,
-                                            List<Course> filteredCourses) {
-        if (filters != null && !filters.isEmpty() && (filteredCourses.isEmpty())) {
-            if (filters.contains(CourseFilter.NEWEST)) {
-                courses.stream()
-                    .sorted(Comparator.comparing((Course::getCreatedAt)).reversed())
-                    .forEach(filteredCourses::add);
-            }
+    private static Specification<Course> priceSpecification(Double minPrice, Double maxPrice) {
+        if ((minPrice != null && minPrice < 0) || (maxPrice != null && maxPrice < 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Price must not be negative");
+        }
 
-            if (filters.contains(CourseFilter.POPULAR)) {
-                courses.stream()
-                    .filter(course -> !course.getUsers().isEmpty())
-                    .sorted((o1, o2) -> o2.getUsers().size() - o1.getUsers().size())
-                    .forEach(filteredCourses::add);
-            }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minPrice must not be greater than maxPrice");
+        }
+
+        return CourseSpecification.priceBetween(minPrice, maxPrice);
+    }
+
+    private static CourseSort resolveSort(Set<CourseFilter> filters, CourseSort sort) {
+        if (sort != null || filters == null) {
+            return sort;
+        }
+
+        if (filters.contains(CourseFilter.POPULAR)) {
+            return CourseSort.POPULAR;
         }
 
-        return filteredCourses;
+        return filters.contains(CourseFilter.NEWEST) ? CourseSort.NEWEST : null;
     }
 
-    private static List<Course> applyFilterByType(CourseType type,
-                                                  List<Course> courses,
-                                                  List<Course> filteredCourses) {
-        List<Course> filteredCoursesByType = filteredCourses;
-        if (type != null) {
-            filteredCoursesByType = courses.stream()
-                .filter(course -> course.getType().equals(type))
-                .collect(Collectors.toList());
+    private static Sort sortOf(CourseSort sort) {
+        if (sort == null) {
+            return Sort.by(Sort.Direction.ASC, "id");
+        }
+
+        switch (sort) {
+            case PRICE_ASC:
+                return PRICE_ASC_SORT;
+            case PRICE_DESC:
+                return PRICE_DESC_SORT;
+            case POPULAR:
+                return POPULAR_SORT;
+            default:
+                return NEWEST_SORT;
         }
+    }
 
-        return filteredCoursesByType;
+    private static Specification<Course> filterSpecification(CourseType type,
+                                                             Set<CourseCategory> categories,
+                                                             Set<CourseLevel> levels) {
+        return Specification.where(CourseSpecification.hasType(type))
+            .and(CourseSpecification.inCategories(categories))
+            .and(CourseSpecification.inLevels(levels));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CourseResponse> getAllCourseUser(String username,
+                                                 CourseType type,
+                                                 Set<CourseFilter> filters,
+                                                 Set<CourseCategory> categories,
+                                                 Set<CourseLevel> levels,
+                                                 int page, int size) {
+        log.info("Fetching all user courses. Page: {}, Size: {}", page, size);
+
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+
+        validationService.validateAuth(user);
+
+        Specification<Course> specification = filterSpecification(type, categories, levels)
+            .and(CourseSpecification.enrolledBy(user.getId()));
+
+        if (filters != null && filters.contains(CourseFilter.POPULAR)) {
+            specification = specification.and(CourseSpecification.isPopular());
+        }
+
+        CourseSort sort = resolveSort(filters, null);
+        PageRequest pageRequest = PageRequest.of(page, size, sort == null ? ENROLLED_SORT : sortOf(sort));
+        Page<CourseResponse> courseResponses = courseRepository.findListRows(specification, pageRequest)
+            .map(CourseListRow::getCourse);
+
+        log.info("Returning {} courses on page {} of size {}",
+            courseResponses.getNumberOfElements(),
+            pageRequest.getPageNumber(),
+            pageRequest.getPageSize()
+        );
+
+        return courseResponses;
     }
 
     @Override
@@ -290,12 +586,26 @@ public class CourseServiceImpl implements CourseService {
 
         log.info("Updating course with Code: {}", code);
 
+        CourseResponse previous = toCourseResponse(course);
         updateCourseProperties(course, request);
-        courseRepository.save(course);
+        course.setUpdatedAt(TimeUtil.getFormattedLocalDateTimeNow());
+        courseRepository.saveAndFlush(course);
+        recordChange(CourseChangeType.UPDATED, course);
 
         log.info("Course updated successfully");
 
-        return toCourseResponse(course);
+        CourseResponse courseResponse = toCourseResponse(course);
+        eventPublisher.publishEvent(
+            new CourseChangedEvent(
+                CourseChangeType.UPDATED, course.getId(), course.getCode(), courseResponse, previous
+            )
+        );
+
+        return courseResponse;
+    }
+
+    private void recordChange(CourseChangeType type, Course course) {
+        courseChangeRepository.append(type, Collections.singletonMap(course.getId(), course.getCode()));
     }
 
     private void updateCourseProperties(Course course, UpdateCourseRequest request) {
@@ -340,11 +650,43 @@ public class CourseServiceImpl implements CourseService {
         }
 
         if (Objects.nonNull(request.getIntendeds())) {
-            HashSet<Intended> intendeds = new HashSet<>();
+            updateIntendeds(course, request.getIntendeds());
+            log.info("Updated course intendeds to: {}", request.getIntendeds());
+        }
+    }
+
+    private void updateIntendeds(Course course, Set<String> request) {
+        Set<String> purposes = request.stream()
+            .map(String::trim)
+            .collect(Collectors.toSet());
+
+        List<Long> removed = course.getIntendeds().stream()
+            .filter(intended -> !purposes.contains(intended.getPurpose()))
+            .map(Intended::getId)
+            .collect(Collectors.toList());
+
+        Set<String> existing = course.getIntendeds().stream()
+            .map(Intended::getPurpose)
+            .collect(Collectors.toSet());
+
+        List<Intended> added = purposes.stream()
+            .filter(purpose -> !existing.contains(purpose))
+            .map(purpose -> Intended.builder()
+                .purpose(purpose)
+                .course(course)
+                .build())
+            .collect(Collectors.toList());
+
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
 
-            mapIntendedStringToObject(request.getIntendeds(), course, intendeds);
-            course.setIntendeds(intendeds);
+        if (!removed.isEmpty()) {
+            intendedRepository.deleteAllByIdInBatch(removed);
         }
+
+        intendedRepository.insertAll(added);
+        course.setIntendeds(new HashSet<>(intendedRepository.findAllByCourse(course)));
     }
 
     public static CourseResponse toCourseResponse(Course course) {
@@ -379,24 +721,29 @@ public class CourseServiceImpl implements CourseService {
 
         log.info("Course found: {}", course);
 
+        CourseResponse previous = toCourseResponse(course);
         courseRepository.delete(course);
+        recordChange(CourseChangeType.DELETED, course);
+        eventPublisher.publishEvent(
+            new CourseChangedEvent(CourseChangeType.DELETED, course.getId(), course.getCode(), null, previous)
+        );
 
         log.info("Course deleted successfully");
     }
 
     @Override
-    @Transactional(readOnly = true)
     public long countCourse() {
-        return courseRepository.count();
+        return courseStatsCache.get().getTotal();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public long countPremiumCourse() {
-        List<Course> courses = courseRepository.findAll();
-        return courses.stream()
-            .filter(course -> course.getType().equals(CourseType.PREMIUM))
-            .count();
+        return courseStatsCache.get().getTypes().get(CourseType.PREMIUM);
+    }
+
+    @Override
+    public CourseStatsResponse getCourseStats() {
+        return courseStatsCache.get();
     }
 
 }
@@ -0,0 +1,11 @@
+package com.github.k7.coursein.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    String HEADER = "Idempotency-Key";
+
+    <T> T execute(String scope, String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action);
+
+}
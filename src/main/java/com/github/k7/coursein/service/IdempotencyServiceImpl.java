@@ -0,0 +1,171 @@
+package com.github.k7.coursein.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.k7.coursein.entity.IdempotentRequest;
+import com.github.k7.coursein.repository.IdempotentRequestRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs an action at most once per {@code Idempotency-Key}. The key is claimed with an upsert in the caller's
+ * transaction, so a concurrent retry blocks on the unique index until the first attempt commits and then replays its
+ * stored response, while a failed attempt rolls its claim back and may be retried. Committed responses are also kept
+ * in memory until they expire.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotentRequestRepository idempotentRequestRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration ttl;
+
+    private final int maxEntries;
+
+    private final ConcurrentMap<String, IdempotentRequest> responses = new ConcurrentHashMap<>();
+
+    public IdempotencyServiceImpl(IdempotentRequestRepository idempotentRequestRepository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                                  @Value("${idempotency.cache.max-entries:10000}") int maxEntries) {
+        this.idempotentRequestRepository = idempotentRequestRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    @Transactional
+    public <T> T execute(String scope, String idempotencyKey, Object request, Class<T> responseType,
+                         Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isEmpty()) {
+            return action.get();
+        }
+
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key is too long");
+        }
+
+        String key = scope + ":" + principal() + ":" + idempotencyKey;
+        String requestHash = hash(scope, request);
+        LocalDateTime now = LocalDateTime.now();
+
+        IdempotentRequest cached = responses.get(key);
+        if (cached != null && cached.getExpiresAt().isAfter(now)) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        if (idempotentRequestRepository.claim(key, requestHash, now, now.plus(ttl)) == 0) {
+            IdempotentRequest stored = idempotentRequestRepository.findById(key)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Request is being processed"));
+            remember(stored);
+            return replay(stored, requestHash, responseType);
+        }
+
+        T response = action.get();
+
+        IdempotentRequest stored = IdempotentRequest.builder()
+            .key(key)
+            .requestHash(requestHash)
+            .response(write(response))
+            .createdAt(now)
+            .expiresAt(now.plus(ttl))
+            .build();
+        idempotentRequestRepository.saveResponse(key, stored.getResponse());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(stored);
+            }
+        });
+
+        return response;
+    }
+
+    @Scheduled(
+        initialDelayString = "${idempotency.purge-interval-ms:600000}",
+        fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        responses.values().removeIf(stored -> !stored.getExpiresAt().isAfter(now));
+
+        int deleted = idempotentRequestRepository.deleteExpired(now);
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotent requests", deleted);
+        }
+    }
+
+    private void remember(IdempotentRequest stored) {
+        if (responses.size() < maxEntries) {
+            responses.put(stored.getKey(), stored);
+        }
+    }
+
+    private <T> T replay(IdempotentRequest stored, String requestHash, Class<T> responseType) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw new ResponseStatusException(
+                HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used for a different request"
+            );
+        }
+
+        if (stored.getResponse() == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Request is being processed");
+        }
+
+        try {
+            return objectMapper.readValue(stored.getResponse(), responseType);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Failed to read stored response of " + stored.getKey(), exception);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Failed to serialize idempotent response", exception);
+        }
+    }
+
+    private String hash(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (NoSuchAlgorithmException | JsonProcessingException exception) {
+            throw new IllegalStateException("Failed to hash idempotent request", exception);
+        }
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "" : authentication.getName();
+    }
+
+}
@@ -1,21 +1,32 @@
 package com.github.k7.coursein.service;
 
+import com.github.k7.coursein.enums.OrderStatus;
 import com.github.k7.coursein.model.CreateOrderRequest;
+import com.github.k7.coursein.model.CursorPage;
 import com.github.k7.coursein.model.DashboardResponse;
 import com.github.k7.coursein.model.OrderResponse;
 import com.github.k7.coursein.model.PayOrderRequest;
 import org.springframework.data.domain.Page;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
 public interface OrderService {
 
     OrderResponse createOrder(CreateOrderRequest request);
 
     Page<OrderResponse> getAllOrder(String username, int page, int size);
 
+    CursorPage<OrderResponse> getAllOrderByCursor(String username, String cursor, int size);
+
     OrderResponse getOrder(String username, String id);
 
     Page<DashboardResponse> getDashboardOrders(int page, int size);
 
+    void exportDashboardOrders(OrderStatus status, LocalDate from, LocalDate to, OutputStream output)
+        throws IOException;
+
     OrderResponse payOrder(String username, String orderId, PayOrderRequest request);
 
     void sendPaymentMessageToEmail(String toEmail) throws RuntimeException;
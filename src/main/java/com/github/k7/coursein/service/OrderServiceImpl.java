@@ -4,17 +4,26 @@ import com.github.k7.coursein.entity.Course;
 import com.github.k7.coursein.entity.Order;
 import com.github.k7.coursein.entity.User;
 import com.github.k7.coursein.enums.OrderStatus;
+import com.github.k7.coursein.event.CourseEnrolledEvent;
+import com.github.k7.coursein.event.OrderCompletedEvent;
 import com.github.k7.coursein.generator.OrderIdGenerator;
 import com.github.k7.coursein.model.CreateOrderRequest;
+import com.github.k7.coursein.model.CursorPage;
 import com.github.k7.coursein.model.DashboardResponse;
 import com.github.k7.coursein.model.OrderResponse;
 import com.github.k7.coursein.model.PayOrderRequest;
 import com.github.k7.coursein.repository.CourseRepository;
+import com.github.k7.coursein.repository.DashboardRow;
+import com.github.k7.coursein.repository.OrderExportRow;
+import com.github.k7.coursein.repository.OrderListRow;
 import com.github.k7.coursein.repository.OrderRepository;
 import com.github.k7.coursein.repository.UserRepository;
+import com.github.k7.coursein.util.CsvWriter;
+import com.github.k7.coursein.util.PageCursor;
 import com.github.k7.coursein.util.TimeUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -26,7 +35,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -44,8 +62,17 @@ public class OrderServiceImpl implements OrderService {
 
     private final JavaMailSender javaMailSender;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final OrderIdGenerator orderIdGenerator;
+
     private static final String ORDER_NOT_FOUND = "Order not found!";
 
+    private static final Object[] EXPORT_HEADER = {
+        "order_id", "username", "course_code", "course_name", "category", "status", "payment_method",
+        "course_price", "total_transfer", "created_at", "completed_at"
+    };
+
     @Override
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
@@ -67,7 +94,7 @@ public class OrderServiceImpl implements OrderService {
         Double totalTransfer = course.getPrice() + ppn;
 
         Order order = Order.builder()
-            .id(OrderIdGenerator.generateOrderId())
+            .id(orderIdGenerator.generateOrderId())
             .status(OrderStatus.PROCESSING)
             .createdAt(TimeUtil.getFormattedLocalDateTimeNow())
             .user(user)
@@ -81,8 +108,12 @@ public class OrderServiceImpl implements OrderService {
     }
 
     private static Double countPpn(Course course) {
+        return countPpn(course.getPrice());
+    }
+
+    private static Double countPpn(Double price) {
         Double ppnRate = 11.0;
-        return (course.getPrice() * ppnRate) / 100;
+        return (price * ppnRate) / 100;
     }
 
     @Override
@@ -95,7 +126,7 @@ public class OrderServiceImpl implements OrderService {
 
         Pageable pageable = PageRequest.of(page, size);
 
-        Page<Order> orders = orderRepository.findAllByUser(user, pageable);
+        Page<OrderListRow> orders = orderRepository.findListRowsByUser(user, pageable);
 
         List<OrderResponse> orderResponses = orders.getContent().stream()
             .map(OrderServiceImpl::toOrderResponse)
@@ -104,6 +135,38 @@ public class OrderServiceImpl implements OrderService {
         return new PageImpl<>(orderResponses, pageable, orders.getTotalElements());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getAllOrderByCursor(String username, String cursor, int size) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+
+        validationService.validateAuth(user);
+
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be greater than zero");
+        }
+
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<OrderListRow> orders;
+        if (cursor == null || cursor.isEmpty()) {
+            orders = orderRepository.findListRowsByUserNewest(user, limit);
+        } else {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            orders = orderRepository.findListRowsByUserBefore(
+                user, pageCursor.getCreatedAt(), pageCursor.getId(), limit
+            );
+        }
+
+        return CursorPage.of(
+            orders,
+            size,
+            order -> PageCursor.of(order.getCreatedAt(), order.getId()),
+            OrderServiceImpl::toOrderResponse
+        );
+    }
+
     @Override
     @Transactional(readOnly = true)
     public OrderResponse getOrder(String username, String id) {
@@ -122,20 +185,61 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public Page<DashboardResponse> getDashboardOrders(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Order> orders = orderRepository.findAll(pageable);
+        Page<DashboardRow> orders = orderRepository.findDashboardRows(pageable);
 
         List<DashboardResponse> orderResponses = orders.getContent().stream()
-            .map(order ->
-                OrderServiceImpl.toDashboardResponse(
-                    order.getUser(),
-                    order.getCourse(),
-                    order
-                ))
+            .map(OrderServiceImpl::toDashboardResponse)
             .collect(Collectors.toList());
 
         return new PageImpl<>(orderResponses, pageable, orders.getTotalElements());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportDashboardOrders(OrderStatus status, LocalDate from, LocalDate to, OutputStream output)
+        throws IOException {
+        CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+        csv.writeRecord(EXPORT_HEADER);
+        csv.flush();
+
+        try {
+            orderRepository.forEachExportRow(
+                status,
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay(),
+                row -> writeExportRow(csv, row)
+            );
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+
+        csv.flush();
+    }
+
+    private static void writeExportRow(CsvWriter csv, OrderExportRow row) {
+        try {
+            csv.writeRecord(
+                row.getId(),
+                row.getUsername(),
+                row.getCourseCode(),
+                row.getCourseName(),
+                row.getCategory(),
+                row.getStatus(),
+                row.getPaymentMethod(),
+                plain(row.getCoursePrice()),
+                plain(row.getTotalTransfer()),
+                TimeUtil.formatToString(row.getCreatedAt()),
+                TimeUtil.formatToString(row.getCompletedAt())
+            );
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? null : value.stripTrailingZeros().toPlainString();
+    }
+
     @Override
     @Transactional
     public OrderResponse payOrder(String username, String orderId, PayOrderRequest request) {
@@ -163,11 +267,18 @@ public class OrderServiceImpl implements OrderService {
         order.setPaymentMethod(request.getPaymentMethod());
         order.setCompletedAt(TimeUtil.getFormattedLocalDateTimeNow());
         orderRepository.save(order);
-
-        user.getCourses().add(course);
-        userRepository.save(user);
-
-        sendPaymentMessageToEmail(user.getEmail());
+        eventPublisher.publishEvent(new OrderCompletedEvent(
+            order.getId(), course.getId(), order.getCompletedAt(), user.getEmail()
+        ));
+
+        if (user.getCourses().add(course)) {
+            userRepository.save(user);
+            courseRepository.incrementEnrollmentCount(course.getId());
+            Set<Long> enrolledCourseIds = user.getCourses().stream()
+                .map(Course::getId)
+                .collect(Collectors.toSet());
+            eventPublisher.publishEvent(new CourseEnrolledEvent(course.getId(), user.getId(), enrolledCourseIds));
+        }
 
         return toOrderResponse(order);
     }
@@ -204,11 +315,26 @@ public class OrderServiceImpl implements OrderService {
             .build();
     }
 
-    private static DashboardResponse toDashboardResponse(User user, Course course, Order order) {
+    private static OrderResponse toOrderResponse(OrderListRow order) {
+        return OrderResponse.builder()
+            .orderCode(order.getId())
+            .username(order.getUsername())
+            .courseName(order.getCourseName())
+            .createdAt(TimeUtil.formatToString(order.getCreatedAt()))
+            .completedAt(TimeUtil.formatToString(order.getCompletedAt()))
+            .paymentMethod(order.getPaymentMethod())
+            .status(order.getStatus())
+            .totalPrice(order.getCoursePrice())
+            .ppn(countPpn(order.getCoursePrice()))
+            .totalTransfer(order.getTotalTransfer())
+            .build();
+    }
+
+    private static DashboardResponse toDashboardResponse(DashboardRow order) {
         return DashboardResponse.builder()
-            .username(user.getUsername())
-            .category(course.getCategory())
-            .courseName(course.getName())
+            .username(order.getUsername())
+            .category(order.getCategory())
+            .courseName(order.getCourseName())
             .status(order.getStatus())
             .completedAt(TimeUtil.formatToString(order.getCompletedAt()))
             .build();
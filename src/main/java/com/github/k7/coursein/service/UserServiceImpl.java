@@ -4,6 +4,7 @@ import com.github.k7.coursein.entity.RegisterOTP;
 import com.github.k7.coursein.entity.Role;
 import com.github.k7.coursein.entity.User;
 import com.github.k7.coursein.enums.UserRole;
+import com.github.k7.coursein.event.EnrollmentsRemovedEvent;
 import com.github.k7.coursein.model.DeleteUserRequest;
 import com.github.k7.coursein.model.RegisterOTPResponse;
 import com.github.k7.coursein.model.RegisterUserRequest;
@@ -14,12 +15,14 @@ import com.github.k7.coursein.model.UploadImageRequest;
 import com.github.k7.coursein.model.UserResponse;
 import com.github.k7.coursein.model.VerifyOTPResponse;
 import com.github.k7.coursein.model.VerifyOtpRequest;
+import com.github.k7.coursein.repository.CourseRepository;
 import com.github.k7.coursein.repository.RegisterOtpRepository;
 import com.github.k7.coursein.repository.RoleRepository;
 import com.github.k7.coursein.repository.UserRepository;
 import com.github.k7.coursein.util.TimeUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -30,6 +33,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
@@ -42,6 +46,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
+    private final CourseRepository courseRepository;
+
     private final RoleRepository roleRepository;
 
     private final RegisterOtpRepository registerOtpRepository;
@@ -56,6 +62,8 @@ public class UserServiceImpl implements UserService {
 
     private final JavaMailSender javaMailSender;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public RegisterOTPResponse registerUser(RegisterUserRequest request) {
@@ -232,8 +240,14 @@ public class UserServiceImpl implements UserService {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid password");
         }
 
+        List<Long> courseIds = courseRepository.findEnrolledCourseIds(user.getId());
+        courseRepository.decrementEnrollmentCountByUserId(user.getId());
         userRepository.delete(user);
 
+        if (!courseIds.isEmpty()) {
+            eventPublisher.publishEvent(new EnrollmentsRemovedEvent(user.getId(), new HashSet<>(courseIds)));
+        }
+
         log.info("Delete user success with username : {}", username);
     }
 
@@ -0,0 +1,125 @@
+package com.github.k7.coursein.specification;
+
+import com.github.k7.coursein.entity.Course;
+import com.github.k7.coursein.entity.UserCourse;
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+@UtilityClass
+public class CourseSpecification {
+
+    private final String TYPE = "type";
+
+    private final String CATEGORY = "category";
+
+    private final String LEVEL = "level";
+
+    private final String PRICE = "price";
+
+    private final String ENROLLMENT_COUNT = "enrollmentCount";
+
+    private final String CREATED_AT = "createdAt";
+
+    private final String ENROLLMENTS = "enrollments";
+
+    private final String ENROLLED_AT = "enrolledAt";
+
+    private final String USER = "user";
+
+    private final String ID = "id";
+
+    public Specification<Course> idIn(Collection<Long> ids) {
+        return (root, query, builder) -> root.get(ID).in(ids);
+    }
+
+    public Specification<Course> idGreaterThan(Long id) {
+        return (root, query, builder) -> builder.greaterThan(root.<Long>get(ID), id);
+    }
+
+    public Specification<Course> hasType(CourseType type) {
+        return (root, query, builder) -> type == null
+            ? null
+            : builder.equal(root.get(TYPE), type);
+    }
+
+    public Specification<Course> inCategories(Set<CourseCategory> categories) {
+        return (root, query, builder) -> categories == null || categories.isEmpty()
+            ? null
+            : root.get(CATEGORY).in(categories);
+    }
+
+    public Specification<Course> inLevels(Set<CourseLevel> levels) {
+        return (root, query, builder) -> levels == null || levels.isEmpty()
+            ? null
+            : root.get(LEVEL).in(levels);
+    }
+
+    public Specification<Course> priceBetween(Double minPrice, Double maxPrice) {
+        return (root, query, builder) -> {
+            if (minPrice == null && maxPrice == null) {
+                return null;
+            }
+
+            if (minPrice == null) {
+                return builder.lessThanOrEqualTo(root.get(PRICE), maxPrice);
+            }
+
+            if (maxPrice == null) {
+                return builder.greaterThanOrEqualTo(root.get(PRICE), minPrice);
+            }
+
+            return builder.between(root.get(PRICE), minPrice, maxPrice);
+        };
+    }
+
+    public Specification<Course> isPopular() {
+        return (root, query, builder) -> builder.greaterThan(root.<Long>get(ENROLLMENT_COUNT), 0L);
+    }
+
+    public Specification<Course> enrolledBy(Long userId) {
+        return enrolledBefore(userId, null, null);
+    }
+
+    /**
+     * Courses enrolled by the user. With a non-null {@code enrolledAt} only the rows after that key in
+     * {@code enrolled_at desc, id desc} order are returned, so callers sort by {@code enrollments.enrolledAt} and
+     * {@code id} descending.
+     */
+    public Specification<Course> enrolledBefore(Long userId, LocalDateTime enrolledAt, Long id) {
+        return (root, query, builder) -> {
+            Join<Course, UserCourse> enrollment = root.join(ENROLLMENTS);
+            Predicate enrolled = builder.equal(enrollment.get(USER).get(ID), userId);
+            if (enrolledAt == null) {
+                return enrolled;
+            }
+
+            return builder.and(enrolled, builder.or(
+                builder.lessThan(enrollment.<LocalDateTime>get(ENROLLED_AT), enrolledAt),
+                builder.and(
+                    builder.equal(enrollment.get(ENROLLED_AT), enrolledAt),
+                    builder.lessThan(root.<Long>get(ID), id)
+                )
+            ));
+        };
+    }
+
+    public Specification<Course> createdBefore(LocalDateTime createdAt, Long id) {
+        return (root, query, builder) -> builder.or(
+            builder.lessThan(root.<LocalDateTime>get(CREATED_AT), createdAt),
+            builder.and(
+                builder.equal(root.get(CREATED_AT), createdAt),
+                builder.lessThan(root.<Long>get(ID), id)
+            )
+        );
+    }
+
+}
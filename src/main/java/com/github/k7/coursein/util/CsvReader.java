@@ -0,0 +1,84 @@
+package com.github.k7.coursein.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: comma separated, fields optionally quoted, quotes escaped by doubling, and quoted
+ * fields may span lines.
+ */
+public class CsvReader {
+
+    private static final int END = -1;
+
+    private static final int UNREAD = -2;
+
+    private final Reader reader;
+
+    private int next = UNREAD;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public List<String> readRecord() throws IOException {
+        if (peek() == END) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            int current = read();
+
+            if (quoted) {
+                if (current == END) {
+                    throw new IOException("Unterminated quoted field");
+                }
+
+                if (current == '"') {
+                    if (peek() == '"') {
+                        field.append((char) read());
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) current);
+                }
+            } else if (current == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (current == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (current == '\r' || current == '\n' || current == END) {
+                if (current == '\r' && peek() == '\n') {
+                    read();
+                }
+
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) current);
+            }
+        }
+    }
+
+    private int peek() throws IOException {
+        if (next == UNREAD) {
+            next = reader.read();
+        }
+
+        return next;
+    }
+
+    private int read() throws IOException {
+        int current = peek();
+        next = UNREAD;
+        return current;
+    }
+
+}
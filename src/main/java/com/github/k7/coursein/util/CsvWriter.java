@@ -0,0 +1,64 @@
+package com.github.k7.coursein.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streaming RFC 4180 writer: fields containing commas, quotes or line breaks are quoted, quotes escaped by doubling,
+ * and records end with CRLF. {@code null} fields are written empty.
+ */
+public class CsvWriter {
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void writeRecord(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+
+            if (fields[i] != null) {
+                writeField(fields[i].toString());
+            }
+        }
+
+        writer.write("\r\n");
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String field) throws IOException {
+        if (!needsQuotes(field)) {
+            writer.write(field);
+            return;
+        }
+
+        writer.write('"');
+        for (int i = 0; i < field.length(); i++) {
+            char current = field.charAt(i);
+            if (current == '"') {
+                writer.write('"');
+            }
+            writer.write(current);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuotes(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char current = field.charAt(i);
+            if (current == ',' || current == '"' || current == '\r' || current == '\n') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
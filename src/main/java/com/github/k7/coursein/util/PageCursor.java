@@ -0,0 +1,62 @@
+package com.github.k7.coursein.util;
+
+import lombok.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor, the url-safe base64 of {@code createdAt|id} of the last row of a page. The timestamp is the
+ * sort key of the listing, {@code enrolled_at} for the my-courses library.
+ */
+@Value
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private static final String INVALID_CURSOR = "Invalid cursor";
+
+    LocalDateTime createdAt;
+
+    String id;
+
+    public static PageCursor of(LocalDateTime createdAt, Object id) {
+        return new PageCursor(createdAt, String.valueOf(id));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+
+            if (separator < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, INVALID_CURSOR);
+            }
+
+            return new PageCursor(
+                LocalDateTime.parse(decoded.substring(0, separator)),
+                decoded.substring(separator + 1)
+            );
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, INVALID_CURSOR);
+        }
+    }
+
+    public Long getIdAsLong() {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, INVALID_CURSOR);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
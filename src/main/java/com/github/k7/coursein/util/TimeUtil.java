@@ -19,6 +19,10 @@ public class TimeUtil {
         return localDateTime != null ? localDateTime.format(FORMATTER) : null;
     }
 
+    public LocalDateTime parse(String localDateTime) {
+        return localDateTime != null ? LocalDateTime.parse(localDateTime, FORMATTER) : null;
+    }
+
     public boolean isBefore7Days(LocalDateTime localDateTime) {
         LocalDateTime now = getFormattedLocalDateTimeNow();
         return localDateTime.isBefore(now.plusDays(7));
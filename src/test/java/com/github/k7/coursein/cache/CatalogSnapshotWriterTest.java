@@ -0,0 +1,130 @@
+package com.github.k7.coursein.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.repository.CourseListRow;
+import com.github.k7.coursein.repository.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+class CatalogSnapshotWriterTest {
+
+    private static final int COURSES = 1001;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private CourseRepository courseRepository;
+
+    private CatalogSnapshotWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository = Mockito.mock(CourseRepository.class);
+        when(courseRepository.findListRows(any(), any(Sort.class), anyInt()))
+            .thenAnswer(invocation -> rows(1, 1000))
+            .thenAnswer(invocation -> rows(1001, COURSES))
+            .thenAnswer(invocation -> rows(1, 1000))
+            .thenAnswer(invocation -> rows(1001, COURSES));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void testLoad_writesEveryCourseAsGzippedNdjson() throws Exception {
+        writer = new CatalogSnapshotWriter(courseRepository, objectMapper, directory.toString(), 0, 60000);
+        writer.load();
+        waitFor(() -> writer.current() != null);
+
+        List<String> codes = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new GZIPInputStream(Files.newInputStream(writer.current().getFile())), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                codes.add(objectMapper.readValue(line, CourseResponse.class).getCode());
+            }
+        }
+
+        List<String> expected = LongStream.rangeClosed(1, COURSES)
+            .mapToObj(id -> "C" + id)
+            .collect(Collectors.toList());
+        Assertions.assertEquals(expected, codes);
+    }
+
+    @Test
+    void testRegenerate_keepsReplacedFileForRetainPeriod() throws Exception {
+        writer = new CatalogSnapshotWriter(courseRepository, objectMapper, directory.toString(), 0, 60000);
+        CatalogSnapshotFile first = regenerateTwice();
+
+        Assertions.assertTrue(Files.exists(first.getFile()));
+        Assertions.assertTrue(Files.exists(writer.current().getFile()));
+    }
+
+    @Test
+    void testRegenerate_deletesReplacedFileAfterRetainPeriod() throws Exception {
+        writer = new CatalogSnapshotWriter(courseRepository, objectMapper, directory.toString(), 0, 0);
+        CatalogSnapshotFile first = regenerateTwice();
+
+        waitFor(() -> !Files.exists(first.getFile()));
+        Assertions.assertTrue(Files.exists(writer.current().getFile()));
+    }
+
+    private CatalogSnapshotFile regenerateTwice() throws InterruptedException {
+        writer.load();
+        waitFor(() -> writer.current() != null);
+        CatalogSnapshotFile first = writer.current();
+
+        writer.onCourseChanged(new CourseChangedEvent(CourseChangeType.UPDATED, 1L, "C1", null, null));
+        waitFor(() -> writer.current() != first);
+        Assertions.assertNotEquals(first.getFile(), writer.current().getFile());
+        return first;
+    }
+
+    private static List<CourseListRow> rows(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+            .mapToObj(id -> new CourseListRow(id, null, null, CourseResponse.builder()
+                .code("C" + id)
+                .name("Course " + id)
+                .build()))
+            .collect(Collectors.toList());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for the snapshot");
+            Thread.sleep(10);
+        }
+    }
+
+}
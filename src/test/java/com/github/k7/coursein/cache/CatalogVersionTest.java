@@ -0,0 +1,79 @@
+package com.github.k7.coursein.cache;
+
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CourseEnrolledEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class CatalogVersionTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenReturn("\"1-0\"", "\"2-0\"");
+    }
+
+    @Test
+    void testEtag_readOncePerTtl() {
+        CatalogVersion catalogVersion = new CatalogVersion(jdbcTemplate, 60_000);
+
+        Assertions.assertEquals("\"1-0\"", catalogVersion.etag());
+        Assertions.assertEquals("\"1-0\"", catalogVersion.etag());
+
+        Mockito.verify(jdbcTemplate, Mockito.times(1)).queryForObject(anyString(), any(RowMapper.class));
+    }
+
+    @Test
+    void testEtag_expiredTtlReadsAgain() {
+        CatalogVersion catalogVersion = new CatalogVersion(jdbcTemplate, 0);
+
+        Assertions.assertEquals("\"1-0\"", catalogVersion.etag());
+        Assertions.assertEquals("\"2-0\"", catalogVersion.etag());
+    }
+
+    @Test
+    void testOnCourseChanged_localWriteForcesFreshRead() {
+        CatalogVersion catalogVersion = new CatalogVersion(jdbcTemplate, 60_000);
+        catalogVersion.etag();
+
+        catalogVersion.onCourseChanged(new CourseChangedEvent(CourseChangeType.UPDATED, 1L, "WP1", null, null));
+
+        Assertions.assertEquals("\"2-0\"", catalogVersion.etag());
+        Mockito.verify(jdbcTemplate, Mockito.never()).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    void testOnCourseEnrolled_advancesSequenceAndForcesFreshRead() {
+        CatalogVersion catalogVersion = new CatalogVersion(jdbcTemplate, 60_000);
+        catalogVersion.etag();
+
+        catalogVersion.onCourseEnrolled(new CourseEnrolledEvent(1L, 7L, Collections.singleton(1L)));
+
+        Mockito.verify(jdbcTemplate).queryForObject("SELECT nextval('catalog_version_seq')", Long.class);
+        Assertions.assertEquals("\"2-0\"", catalogVersion.etag());
+    }
+
+    @Test
+    void testEtag_unreadableVersionIsNull() {
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class)))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        Assertions.assertNull(new CatalogVersion(jdbcTemplate, 60_000).etag());
+    }
+
+}
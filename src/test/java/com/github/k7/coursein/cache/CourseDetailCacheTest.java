@@ -0,0 +1,205 @@
+package com.github.k7.coursein.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.model.CourseResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class CourseDetailCacheTest {
+
+    private static final int MAX_ENTRIES = 10;
+
+    private static final String UPDATED_AT = "2024-01-05 10:00:00";
+
+    private final Map<String, Long> changeVersions = new HashMap<>();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CatalogVersion catalogVersion;
+
+    private MeterRegistry meterRegistry;
+
+    private CourseDetailCache cache;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = Mockito.mock(CatalogVersion.class);
+        when(catalogVersion.etag()).thenReturn("\"1-0\"");
+
+        JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any())).thenAnswer(invocation -> {
+            Long changeVersion = changeVersions.get(invocation.<String>getArgument(2));
+            return changeVersion == null ? Collections.emptyList() : Collections.singletonList(changeVersion);
+        });
+
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CourseDetailCache(new ObjectMapper(), catalogVersion, jdbcTemplate, meterRegistry, MAX_ENTRIES);
+    }
+
+    @Test
+    void testGet_missLoadsThenHitServesCachedBytes() {
+        changeVersions.put("WP1", 3L);
+
+        SerializedResponse first = cache.get("WP1", loader("Web"));
+        SerializedResponse second = cache.get("WP1", loader("Web"));
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertTrue(new String(first.getBody(), StandardCharsets.UTF_8).contains("\"name\":\"Web\""));
+        Assertions.assertEquals(1.0, requests("miss"));
+        Assertions.assertEquals(1.0, requests("hit"));
+    }
+
+    @Test
+    void testOnCourseChanged_updateAndDeleteInvalidate() {
+        changeVersions.put("WP1", 3L);
+        changeVersions.put("WP2", 4L);
+        cache.get("WP1", loader("Web"));
+        cache.get("WP2", loader("Mobile"));
+
+        cache.onCourseChanged(new CourseChangedEvent(CourseChangeType.UPDATED, 1L, "WP1",
+            course("WP1", "Web Design"), course("WP1", "Web")));
+        cache.onCourseChanged(new CourseChangedEvent(CourseChangeType.DELETED, 2L, "WP2", null,
+            course("WP2", "Mobile")));
+
+        cache.get("WP1", loader("Web Design"));
+        cache.get("WP2", loader("Mobile"));
+        Assertions.assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testOnCourseChanged_renameInvalidatesPreviousCode() {
+        changeVersions.put("WP1", 3L);
+        cache.get("WP1", loader("Web"));
+
+        cache.onCourseChanged(new CourseChangedEvent(CourseChangeType.UPDATED, 1L, "WP9",
+            course("WP9", "Web"), course("WP1", "Web")));
+
+        cache.get("WP1", loader("Web"));
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGet_newCatalogVersionKeepsEntryWhenCourseUnchanged() {
+        changeVersions.put("WP1", 3L);
+        cache.get("WP1", loader("Web"));
+
+        when(catalogVersion.etag()).thenReturn("\"2-0\"");
+        cache.get("WP1", loader("Web"));
+        cache.get("WP1", loader("Web"));
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1.0, meterRegistry.counter("course.detail.cache.revalidations").count());
+    }
+
+    @Test
+    void testGet_writeWithinSameSecondOnAnotherNodeIsDetected() {
+        changeVersions.put("WP1", 3L);
+        SerializedResponse stale = cache.get("WP1", loader("Web"));
+
+        changeVersions.put("WP1", 4L);
+        when(catalogVersion.etag()).thenReturn("\"4-0\"");
+        SerializedResponse fresh = cache.get("WP1", loader("Web Design"));
+
+        Assertions.assertNotSame(stale, fresh);
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertTrue(new String(fresh.getBody(), StandardCharsets.UTF_8).contains("\"name\":\"Web Design\""));
+    }
+
+    @Test
+    void testGet_courseGoneOnAnotherNodeIsDropped() {
+        changeVersions.put("WP1", 3L);
+        cache.get("WP1", loader("Web"));
+
+        changeVersions.remove("WP1");
+        when(catalogVersion.etag()).thenReturn("\"4-0\"");
+
+        Assertions.assertThrows(ResponseStatusException.class, () -> cache.get("WP1", code -> {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found");
+        }));
+    }
+
+    @Test
+    void testGet_slowLoadDoesNotOverwriteNewerVersion() {
+        changeVersions.put("WP1", 3L);
+
+        cache.get("WP1", code -> {
+            changeVersions.put("WP1", 4L);
+            cache.get("WP1", loader("Web Design"));
+            return course("WP1", "Web");
+        });
+
+        when(catalogVersion.etag()).thenReturn("\"4-0\"");
+        SerializedResponse current = cache.get("WP1", loader("unexpected"));
+
+        Assertions.assertTrue(
+            new String(current.getBody(), StandardCharsets.UTF_8).contains("\"name\":\"Web Design\""));
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGet_evictsLeastRecentlyReadPastMaxEntries() throws InterruptedException {
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            changeVersions.put("C" + i, 1L);
+            cache.get("C" + i, loader("Course " + i));
+            Thread.sleep(1);
+        }
+
+        cache.get("C0", loader("Course 0"));
+        Thread.sleep(1);
+        changeVersions.put("C10", 1L);
+        cache.get("C10", loader("Course 10"));
+        Assertions.assertEquals(MAX_ENTRIES + 1, loads.get());
+
+        cache.get("C0", loader("Course 0"));
+        cache.get("C3", loader("Course 3"));
+        Assertions.assertEquals(MAX_ENTRIES + 1, loads.get());
+
+        cache.get("C1", loader("Course 1"));
+        cache.get("C2", loader("Course 2"));
+        Assertions.assertEquals(MAX_ENTRIES + 3, loads.get());
+    }
+
+    private Function<String, CourseResponse> loader(String name) {
+        return code -> {
+            loads.incrementAndGet();
+            return course(code, name);
+        };
+    }
+
+    private double requests(String result) {
+        return meterRegistry.counter("course.detail.cache.requests", "result", result).count();
+    }
+
+    private static CourseResponse course(String code, String name) {
+        return CourseResponse.builder()
+            .code(code)
+            .name(name)
+            .createdAt(UPDATED_AT)
+            .updatedAt(UPDATED_AT)
+            .intendeds(Collections.singleton("Learn"))
+            .build();
+    }
+
+}
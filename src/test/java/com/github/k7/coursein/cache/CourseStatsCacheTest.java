@@ -0,0 +1,136 @@
+package com.github.k7.coursein.cache;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CoursesImportedEvent;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.model.CourseStatsResponse;
+import com.github.k7.coursein.repository.CourseRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+
+class CourseStatsCacheTest {
+
+    private CourseRepository courseRepository;
+
+    private CourseStatsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository = Mockito.mock(CourseRepository.class);
+        when(courseRepository.countByTypeCategoryLevel()).thenReturn(rows());
+
+        cache = new CourseStatsCache(courseRepository);
+    }
+
+    @Test
+    void testGet_loadsOnceAndCountsZeroForMissingGroups() {
+        CourseStatsResponse stats = cache.get();
+        cache.get();
+
+        Assertions.assertEquals(5, stats.getTotal());
+        Assertions.assertEquals(3L, stats.getTypes().get(CourseType.FREE));
+        Assertions.assertEquals(0L, stats.getCategories().get(CourseCategory.UIUX_DESIGN));
+        Mockito.verify(courseRepository, Mockito.times(1)).countByTypeCategoryLevel();
+    }
+
+    @Test
+    void testOnCourseChanged_createdAndDeletedAdjustCounts() {
+        cache.get();
+
+        cache.onCourseChanged(new CourseChangedEvent(CourseChangeType.CREATED, 10L, "C10",
+            course(CourseType.FREE, CourseCategory.UIUX_DESIGN, CourseLevel.BEGINNER), null));
+        cache.onCourseChanged(new CourseChangedEvent(CourseChangeType.DELETED, 11L, "C11", null,
+            course(CourseType.PREMIUM, CourseCategory.DATA_SCIENCE, CourseLevel.ADVANCED)));
+
+        CourseStatsResponse stats = cache.get();
+        Assertions.assertEquals(5, stats.getTotal());
+        Assertions.assertEquals(4L, stats.getTypes().get(CourseType.FREE));
+        Assertions.assertEquals(1L, stats.getTypes().get(CourseType.PREMIUM));
+        Assertions.assertEquals(1L, stats.getCategories().get(CourseCategory.UIUX_DESIGN));
+        Assertions.assertEquals(1L, stats.getCategories().get(CourseCategory.DATA_SCIENCE));
+        Assertions.assertEquals(1L, stats.getLevels().get(CourseLevel.ADVANCED));
+        Mockito.verify(courseRepository, Mockito.times(1)).countByTypeCategoryLevel();
+    }
+
+    @Test
+    void testOnCourseChanged_updateMovesCourseBetweenGroups() {
+        cache.get();
+
+        cache.onCourseChanged(new CourseChangedEvent(CourseChangeType.UPDATED, 1L, "C1",
+            course(CourseType.PREMIUM, CourseCategory.ANDROID_DEVELOPMENT, CourseLevel.BEGINNER),
+            course(CourseType.FREE, CourseCategory.WEB_DEVELOPMENT, CourseLevel.BEGINNER)));
+
+        CourseStatsResponse stats = cache.get();
+        Assertions.assertEquals(5, stats.getTotal());
+        Assertions.assertEquals(2L, stats.getTypes().get(CourseType.FREE));
+        Assertions.assertEquals(3L, stats.getTypes().get(CourseType.PREMIUM));
+        Assertions.assertEquals(2L, stats.getCategories().get(CourseCategory.WEB_DEVELOPMENT));
+        Assertions.assertEquals(1L, stats.getCategories().get(CourseCategory.ANDROID_DEVELOPMENT));
+        Assertions.assertEquals(3L, stats.getLevels().get(CourseLevel.BEGINNER));
+    }
+
+    @Test
+    void testOnCoursesImported_addsEveryImportedCourse() {
+        cache.get();
+
+        Map<Long, CourseResponse> imported = new HashMap<>();
+        imported.put(20L, course(CourseType.FREE, CourseCategory.IOS_DEVELOPMENT, CourseLevel.INTERMEDIATE));
+        imported.put(21L, course(CourseType.FREE, CourseCategory.IOS_DEVELOPMENT, CourseLevel.BEGINNER));
+        cache.onCoursesImported(new CoursesImportedEvent(imported));
+
+        CourseStatsResponse stats = cache.get();
+        Assertions.assertEquals(7, stats.getTotal());
+        Assertions.assertEquals(5L, stats.getTypes().get(CourseType.FREE));
+        Assertions.assertEquals(2L, stats.getCategories().get(CourseCategory.IOS_DEVELOPMENT));
+        Assertions.assertEquals(1L, stats.getLevels().get(CourseLevel.INTERMEDIATE));
+    }
+
+    @Test
+    void testGet_loadRacingWriteIsNotKept() {
+        List<Object[]> afterWrite = rows();
+        afterWrite.add(new Object[]{CourseType.FREE, CourseCategory.OTHER, CourseLevel.BEGINNER, 1L});
+        when(courseRepository.countByTypeCategoryLevel())
+            .thenAnswer(invocation -> {
+                // the write commits after the GROUP BY read its snapshot
+                cache.onCourseChanged(new CourseChangedEvent(CourseChangeType.CREATED, 30L, "C30",
+                    course(CourseType.FREE, CourseCategory.OTHER, CourseLevel.BEGINNER), null));
+                return rows();
+            })
+            .thenReturn(afterWrite);
+
+        Assertions.assertEquals(5, cache.get().getTotal());
+        Assertions.assertEquals(6, cache.get().getTotal());
+        Assertions.assertEquals(6, cache.get().getTotal());
+        Mockito.verify(courseRepository, Mockito.times(2)).countByTypeCategoryLevel();
+    }
+
+    private static List<Object[]> rows() {
+        return new ArrayList<>(Arrays.asList(
+            new Object[]{CourseType.FREE, CourseCategory.WEB_DEVELOPMENT, CourseLevel.BEGINNER, 3L},
+            new Object[]{CourseType.PREMIUM, CourseCategory.DATA_SCIENCE, CourseLevel.ADVANCED, 2L}
+        ));
+    }
+
+    private static CourseResponse course(CourseType type, CourseCategory category, CourseLevel level) {
+        return CourseResponse.builder()
+            .type(type)
+            .category(category)
+            .level(level)
+            .build();
+    }
+
+}
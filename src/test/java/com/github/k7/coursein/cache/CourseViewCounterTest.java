@@ -0,0 +1,102 @@
+package com.github.k7.coursein.cache;
+
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.model.CourseResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class CourseViewCounterTest {
+
+    private final Map<String, Long> courseIds = new HashMap<>();
+
+    private JdbcTemplate jdbcTemplate;
+
+    private CourseViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any())).thenAnswer(invocation -> {
+            Long courseId = courseIds.get(invocation.<String>getArgument(2));
+            return courseId == null ? Collections.emptyList() : Collections.singletonList(courseId);
+        });
+
+        counter = new CourseViewCounter(jdbcTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testFlush_failedFlushKeepsDeltaForNextFlush() {
+        courseIds.put("WP1", 1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(new int[]{1});
+
+        counter.increment("WP1");
+        counter.increment("WP1");
+        counter.flush();
+        counter.increment("WP1");
+        counter.flush();
+        counter.flush();
+
+        List<List<Object[]>> batches = batches(2);
+        Assertions.assertArrayEquals(new Object[]{2L, 1L}, batches.get(0).get(0));
+        Assertions.assertArrayEquals(new Object[]{3L, 1L}, batches.get(1).get(0));
+    }
+
+    @Test
+    void testFlush_viewsSurviveCodeChange() {
+        courseIds.put("WP1", 1L);
+        counter.increment("WP1");
+
+        courseIds.remove("WP1");
+        courseIds.put("WP9", 1L);
+        counter.onCourseChanged(new CourseChangedEvent(CourseChangeType.UPDATED, 1L, "WP9",
+            course("WP9"), course("WP1")));
+        counter.increment("WP9");
+        counter.increment("WP1");
+        counter.flush();
+
+        Assertions.assertArrayEquals(new Object[]{2L, 1L}, batches(1).get(0).get(0));
+    }
+
+    @Test
+    void testOnCourseChanged_deletedCourseDropsViews() {
+        courseIds.put("WP1", 1L);
+        counter.increment("WP1");
+
+        counter.onCourseChanged(new CourseChangedEvent(CourseChangeType.DELETED, 1L, "WP1", null, course("WP1")));
+        counter.flush();
+
+        Mockito.verify(jdbcTemplate, Mockito.never()).batchUpdate(anyString(), anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> batches(int times) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(jdbcTemplate, Mockito.times(times)).batchUpdate(anyString(), captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static CourseResponse course(String code) {
+        return CourseResponse.builder().code(code).build();
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.github.k7.coursein.controller;
+
+import com.github.k7.coursein.cache.CatalogSnapshotWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The catalog version is read on every request ({@code version-ttl-ms=0}), so a change-log row inserted behind the
+ * application's back stands in for a write committed on another node.
+ */
+@SpringBootTest(properties = {
+    "course.catalog.index.enabled=false",
+    "course.catalog.version-ttl-ms=0"
+})
+@AutoConfigureMockMvc
+class CatalogConditionalTest {
+
+    private static final String CODE = "ETAG-TEST";
+
+    private static final String SNAPSHOT = "/api/v1/courses/snapshot";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogSnapshotWriter catalogSnapshotWriter;
+
+    private final List<Long> insertedVersions = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        insertedVersions.forEach(version ->
+            jdbcTemplate.update("DELETE FROM course_changes WHERE version = ?", version));
+    }
+
+    @Test
+    void testCatalogList_matchingEtagIsNotModifiedUntilWrite() throws Exception {
+        String etag = etagOf("/api/v1/courses");
+
+        mockMvc.perform(get("/api/v1/courses").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        write();
+
+        String next = mockMvc.perform(get("/api/v1/courses").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotEquals(etag, next);
+
+        mockMvc.perform(get("/api/v1/courses").header(HttpHeaders.IF_NONE_MATCH, next))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testChangesAndRelated_answerConditionally() throws Exception {
+        String etag = etagOf("/api/v1/courses/changes");
+
+        mockMvc.perform(get("/api/v1/courses/changes").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/courses/" + CODE + "/related").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"));
+    }
+
+    @Test
+    void testTrending_isNotConditional() throws Exception {
+        mockMvc.perform(get("/api/v1/courses/trending"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testSnapshot_etagPerEncodingAndNotModified() throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (catalogSnapshotWriter.current() == null) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for the snapshot");
+            Thread.sleep(10);
+        }
+
+        String gzipEtag = mockMvc.perform(get(SNAPSHOT).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String plainEtag = mockMvc.perform(get(SNAPSHOT))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotNull(gzipEtag);
+        Assertions.assertNotEquals(gzipEtag, plainEtag);
+
+        mockMvc.perform(get(SNAPSHOT)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get(SNAPSHOT).header(HttpHeaders.IF_NONE_MATCH, plainEtag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get(SNAPSHOT).header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+            .andExpect(status().isOk());
+    }
+
+    private String etagOf(String path) throws Exception {
+        String etag = mockMvc.perform(get(path))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotNull(etag, "no ETag on " + path);
+        return etag;
+    }
+
+    private void write() {
+        insertedVersions.add(jdbcTemplate.queryForObject(
+            "INSERT INTO course_changes (course_id, code, type, changed_at) VALUES (?, ?, ?, now()) RETURNING version",
+            Long.class,
+            -1L, CODE, "UPDATED"
+        ));
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.github.k7.coursein.generator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+class OrderIdGeneratorTest {
+
+    private static final int NODES = 4;
+
+    private static final int THREADS_PER_NODE = 8;
+
+    private static final int IDS_PER_THREAD = 20_000;
+
+    @Test
+    void testFormat() {
+        Assertions.assertEquals("INV-20240105-000042", OrderIdGenerator.format(LocalDate.of(2024, 1, 5), 42));
+        Assertions.assertEquals("INV-20240105-1234567", OrderIdGenerator.format(LocalDate.of(2024, 1, 5), 1234567));
+    }
+
+    @Test
+    void testNextNumber_reservesOneBlockPerThousandIds() {
+        AtomicLong sequence = new AtomicLong(1 - OrderIdGenerator.BLOCK_SIZE);
+        JdbcTemplate jdbcTemplate = sequenceBackedJdbcTemplate(sequence);
+        OrderIdGenerator generator = new OrderIdGenerator(jdbcTemplate, Mockito.mock(PlatformTransactionManager.class));
+
+        for (int i = 1; i <= OrderIdGenerator.BLOCK_SIZE * 3; i++) {
+            Assertions.assertEquals(i, generator.nextNumber());
+        }
+
+        Mockito.verify(jdbcTemplate, Mockito.times(3)).queryForObject(OrderIdGenerator.NEXT_BLOCK, Long.class);
+    }
+
+    @Test
+    void testNextNumber_concurrentNodesNeverIssueTheSameNumber() throws Exception {
+        AtomicLong sequence = new AtomicLong(1 - OrderIdGenerator.BLOCK_SIZE);
+        List<OrderIdGenerator> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new OrderIdGenerator(sequenceBackedJdbcTemplate(sequence),
+                Mockito.mock(PlatformTransactionManager.class)));
+        }
+
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(NODES * THREADS_PER_NODE);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> duplicates = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < NODES * THREADS_PER_NODE; i++) {
+                OrderIdGenerator node = nodes.get(i % NODES);
+                duplicates.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int j = 0; j < IDS_PER_THREAD; j++) {
+                        if (!issued.add(node.nextNumber())) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+
+            start.countDown();
+            for (Future<Integer> future : duplicates) {
+                Assertions.assertEquals(0, future.get(1, TimeUnit.MINUTES));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(NODES * THREADS_PER_NODE * IDS_PER_THREAD, issued.size());
+        Assertions.assertEquals(NODES * THREADS_PER_NODE * IDS_PER_THREAD,
+            issued.stream().mapToLong(Long::longValue).max().orElse(0), "no reserved number is skipped");
+    }
+
+    @Test
+    void testNextNumber_createsSequenceInItsOwnTransaction() {
+        AtomicLong sequence = new AtomicLong(1 - OrderIdGenerator.BLOCK_SIZE);
+        JdbcTemplate jdbcTemplate = sequenceBackedJdbcTemplate(sequence);
+        PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        OrderIdGenerator generator = new OrderIdGenerator(jdbcTemplate, transactionManager);
+
+        generator.nextNumber();
+
+        Mockito.verify(transactionManager).getTransaction(argThat(definition ->
+            definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        Mockito.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testNextNumber_retriesSequenceCreationAfterFailure() {
+        AtomicLong sequence = new AtomicLong(1 - OrderIdGenerator.BLOCK_SIZE);
+        JdbcTemplate jdbcTemplate = sequenceBackedJdbcTemplate(sequence);
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+            .doNothing()
+            .when(jdbcTemplate).execute(anyString());
+        OrderIdGenerator generator = new OrderIdGenerator(jdbcTemplate, Mockito.mock(PlatformTransactionManager.class));
+
+        Assertions.assertThrows(DataAccessResourceFailureException.class, generator::nextNumber);
+        Assertions.assertEquals(1, generator.nextNumber());
+
+        Mockito.verify(jdbcTemplate, Mockito.times(2)).execute(anyString());
+    }
+
+    @Test
+    void testNextNumber_retriesSequenceCreationRacedByAnotherNode() {
+        AtomicLong sequence = new AtomicLong(1 - OrderIdGenerator.BLOCK_SIZE);
+        JdbcTemplate jdbcTemplate = sequenceBackedJdbcTemplate(sequence);
+        doThrow(new DuplicateKeyException("duplicate key value violates unique constraint"))
+            .doNothing()
+            .when(jdbcTemplate).execute(anyString());
+        OrderIdGenerator generator = new OrderIdGenerator(jdbcTemplate, Mockito.mock(PlatformTransactionManager.class));
+
+        Assertions.assertEquals(1, generator.nextNumber());
+
+        Mockito.verify(jdbcTemplate, Mockito.times(2)).execute(anyString());
+    }
+
+    private static JdbcTemplate sequenceBackedJdbcTemplate(AtomicLong sequence) {
+        JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(OrderIdGenerator.NEXT_BLOCK, Long.class))
+            .thenAnswer(invocation -> sequence.addAndGet(OrderIdGenerator.BLOCK_SIZE));
+        return jdbcTemplate;
+    }
+
+}
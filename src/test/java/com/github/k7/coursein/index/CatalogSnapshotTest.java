@@ -0,0 +1,191 @@
+package com.github.k7.coursein.index;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseFilter;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class CatalogSnapshotTest {
+
+    private static final Set<CourseFilter> NEWEST = Collections.singleton(CourseFilter.NEWEST);
+
+    private static final Set<CourseFilter> POPULAR = Collections.singleton(CourseFilter.POPULAR);
+
+    private static final Pageable ALL = PageRequest.of(0, 100);
+
+    private static final List<CourseSummary> COURSES = Arrays.asList(
+        summary(1L, CourseType.FREE, CourseCategory.WEB_DEVELOPMENT, CourseLevel.BEGINNER, "2024-01-01", 5),
+        summary(2L, CourseType.PREMIUM, CourseCategory.WEB_DEVELOPMENT, CourseLevel.BEGINNER, "2024-01-03", 0),
+        summary(3L, CourseType.PREMIUM, CourseCategory.DATA_SCIENCE, CourseLevel.BEGINNER, "2024-01-02", 9),
+        summary(4L, CourseType.PREMIUM, CourseCategory.WEB_DEVELOPMENT, CourseLevel.ADVANCED, "2024-01-05", 5),
+        summary(5L, CourseType.PREMIUM, CourseCategory.DATA_SCIENCE, CourseLevel.BEGINNER, "2024-01-04", 1),
+        summary(6L, CourseType.FREE, CourseCategory.OTHER, CourseLevel.INTERMEDIATE, "2024-01-04", 0)
+    );
+
+    @Test
+    void testQuery_filtersInIdOrder() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(COURSES);
+
+        Page<CourseSummary> page = snapshot.query(CourseType.PREMIUM, null,
+            EnumSet.of(CourseCategory.WEB_DEVELOPMENT, CourseCategory.DATA_SCIENCE),
+            EnumSet.of(CourseLevel.BEGINNER), ALL);
+
+        Assertions.assertEquals(Arrays.asList(2L, 3L, 5L), ids(page));
+        Assertions.assertEquals(3, page.getTotalElements());
+        Assertions.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L),
+            ids(snapshot.query(null, null, null, null, ALL)));
+    }
+
+    @Test
+    void testQuery_pagesFilteredMatches() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(COURSES);
+
+        Page<CourseSummary> page = snapshot.query(CourseType.PREMIUM, null,
+            EnumSet.of(CourseCategory.WEB_DEVELOPMENT, CourseCategory.DATA_SCIENCE),
+            EnumSet.of(CourseLevel.BEGINNER), PageRequest.of(1, 2));
+
+        Assertions.assertEquals(Collections.singletonList(5L), ids(page));
+        Assertions.assertEquals(3, page.getTotalElements());
+        Assertions.assertEquals(Arrays.asList(5L, 2L),
+            ids(snapshot.query(null, NEWEST, null, null, PageRequest.of(1, 2))));
+    }
+
+    @Test
+    void testQuery_newestOrdersByCreatedAtThenId() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(COURSES);
+
+        Assertions.assertEquals(Arrays.asList(4L, 6L, 5L, 2L, 3L, 1L),
+            ids(snapshot.query(null, NEWEST, null, null, ALL)));
+        Assertions.assertEquals(Arrays.asList(4L, 5L, 2L, 3L),
+            ids(snapshot.query(CourseType.PREMIUM, NEWEST, null, null, ALL)));
+    }
+
+    @Test
+    void testQuery_popularSkipsUnenrolledAndBreaksTiesByNewest() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(COURSES);
+
+        Page<CourseSummary> page = snapshot.query(null, POPULAR, null, null, ALL);
+
+        Assertions.assertEquals(Arrays.asList(3L, 4L, 1L, 5L), ids(page));
+        Assertions.assertEquals(4, page.getTotalElements());
+    }
+
+    @Test
+    void testWithUpdated_reordersPopular() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(COURSES)
+            .withUpdated(COURSES.get(1).toBuilder().enrollmentCount(7).build())
+            .withUpdated(COURSES.get(2).toBuilder().enrollmentCount(0).build());
+
+        Assertions.assertEquals(Arrays.asList(2L, 4L, 1L, 5L), ids(snapshot.query(null, POPULAR, null, null, ALL)));
+        assertSameAsRebuilt(snapshot);
+    }
+
+    @Test
+    void testWithUpdated_movesCourseBetweenFilters() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(COURSES)
+            .withUpdated(COURSES.get(0).toBuilder().type(CourseType.PREMIUM).level(CourseLevel.ADVANCED).build());
+
+        Assertions.assertEquals(Arrays.asList(1L, 4L),
+            ids(snapshot.query(CourseType.PREMIUM, null, null, EnumSet.of(CourseLevel.ADVANCED), ALL)));
+        assertSameAsRebuilt(snapshot);
+    }
+
+    @Test
+    void testWithAdded_insertsIntoEveryOrder() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(COURSES).withAdded(
+            summary(7L, CourseType.FREE, CourseCategory.OTHER, CourseLevel.BEGINNER, "2024-01-06", 2));
+
+        Assertions.assertEquals(Arrays.asList(7L, 4L, 6L, 5L, 2L, 3L, 1L),
+            ids(snapshot.query(null, NEWEST, null, null, ALL)));
+        Assertions.assertEquals(Arrays.asList(3L, 4L, 1L, 7L, 5L), ids(snapshot.query(null, POPULAR, null, null, ALL)));
+        assertSameAsRebuilt(snapshot);
+    }
+
+    @Test
+    void testWithAdded_lowerIdKeepsIdOrder() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(COURSES.subList(1, COURSES.size())).withAdded(COURSES.get(0));
+
+        Assertions.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L),
+            ids(snapshot.query(null, null, null, null, ALL)));
+        assertSameAsRebuilt(snapshot);
+    }
+
+    @Test
+    void testWithRemoved_hidesCourseFromEveryOrder() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(COURSES).withRemoved(4L);
+
+        Assertions.assertEquals(5, snapshot.size());
+        Assertions.assertNull(snapshot.get(4L));
+        Assertions.assertEquals(Arrays.asList(6L, 5L, 2L, 3L, 1L), ids(snapshot.query(null, NEWEST, null, null, ALL)));
+        Assertions.assertEquals(Arrays.asList(3L, 1L, 5L), ids(snapshot.query(null, POPULAR, null, null, ALL)));
+        assertSameAsRebuilt(snapshot);
+    }
+
+    @Test
+    void testWithRemoved_compactsOnceAQuarterIsDead() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(COURSES)
+            .withRemoved(4L)
+            .withRemoved(6L)
+            .withRemoved(1L);
+
+        Assertions.assertEquals(3, snapshot.size());
+        Assertions.assertEquals(Arrays.asList(2L, 3L, 5L), ids(snapshot.query(null, null, null, null, ALL)));
+        Assertions.assertEquals(Arrays.asList(5L, 2L, 3L), ids(snapshot.query(null, NEWEST, null, null, ALL)));
+        Assertions.assertEquals(Arrays.asList(3L, 5L), ids(snapshot.query(null, POPULAR, null, null, ALL)));
+        assertSameAsRebuilt(snapshot);
+
+        CatalogSnapshot readded = snapshot.withAdded(COURSES.get(3));
+        Assertions.assertEquals(Arrays.asList(4L, 5L, 2L, 3L), ids(readded.query(null, NEWEST, null, null, ALL)));
+    }
+
+    private static void assertSameAsRebuilt(CatalogSnapshot snapshot) {
+        List<CourseSummary> live = new ArrayList<>(snapshot.query(null, null, null, null, ALL).getContent());
+        CatalogSnapshot rebuilt = CatalogSnapshot.build(live);
+
+        for (Set<CourseFilter> filters : Arrays.asList(null, NEWEST, POPULAR)) {
+            Assertions.assertEquals(ids(rebuilt.query(null, filters, null, null, ALL)),
+                ids(snapshot.query(null, filters, null, null, ALL)), "order for " + filters);
+            for (CourseType type : CourseType.values()) {
+                Assertions.assertEquals(ids(rebuilt.query(type, filters, null, null, ALL)),
+                    ids(snapshot.query(type, filters, null, null, ALL)), "order for " + type + " " + filters);
+            }
+        }
+    }
+
+    private static List<Long> ids(Page<CourseSummary> page) {
+        return page.getContent().stream().map(CourseSummary::getId).collect(Collectors.toList());
+    }
+
+    private static CourseSummary summary(Long id,
+                                         CourseType type,
+                                         CourseCategory category,
+                                         CourseLevel level,
+                                         String createdDate,
+                                         long enrollmentCount) {
+        return CourseSummary.builder()
+            .id(id)
+            .code("C" + id)
+            .name("Course " + id)
+            .category(category)
+            .type(type)
+            .level(level)
+            .createdAt(createdDate + " 10:00:00")
+            .intendeds(Collections.emptySet())
+            .enrollmentCount(enrollmentCount)
+            .build();
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.github.k7.coursein.index;
+
+import com.github.k7.coursein.entity.Course;
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.enums.CourseFilter;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CourseEnrolledEvent;
+import com.github.k7.coursein.event.EnrollmentsRemovedEvent;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.repository.CourseRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.when;
+
+class CourseCatalogIndexTest {
+
+    private static final Set<CourseFilter> NEWEST = Collections.singleton(CourseFilter.NEWEST);
+
+    private static final Set<CourseFilter> POPULAR = Collections.singleton(CourseFilter.POPULAR);
+
+    private CourseCatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        CourseRepository courseRepository = Mockito.mock(CourseRepository.class);
+        when(courseRepository.findAllWithIntendeds()).thenReturn(Arrays.asList(
+            course(1L, 2L, LocalDateTime.of(2024, 1, 1, 10, 0)),
+            course(2L, 0L, LocalDateTime.of(2024, 1, 2, 10, 0)),
+            course(3L, 1L, LocalDateTime.of(2024, 1, 3, 10, 0))
+        ));
+
+        index = new CourseCatalogIndex(courseRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.load();
+    }
+
+    @Test
+    void testLoad_disabledIndexIsNotReady() {
+        CourseCatalogIndex disabled = new CourseCatalogIndex(Mockito.mock(CourseRepository.class));
+        disabled.load();
+
+        Assertions.assertFalse(disabled.isReady());
+    }
+
+    @Test
+    void testFindAll_ordersLoadedCourses() {
+        Assertions.assertTrue(index.isReady());
+        Assertions.assertEquals(Arrays.asList("C3", "C2", "C1"), codes(NEWEST));
+        Assertions.assertEquals(Arrays.asList("C1", "C3"), codes(POPULAR));
+    }
+
+    @Test
+    void testOnCourseEnrolled_promotesCourse() {
+        index.onCourseEnrolled(new CourseEnrolledEvent(2L, 10L, new HashSet<>(Collections.singletonList(2L))));
+        index.onCourseEnrolled(new CourseEnrolledEvent(2L, 11L, new HashSet<>(Collections.singletonList(2L))));
+        index.onCourseEnrolled(new CourseEnrolledEvent(2L, 12L, new HashSet<>(Collections.singletonList(2L))));
+
+        Assertions.assertEquals(Arrays.asList("C2", "C1", "C3"), codes(POPULAR));
+    }
+
+    @Test
+    void testOnEnrollmentsRemoved_demotesCourses() {
+        index.onEnrollmentsRemoved(new EnrollmentsRemovedEvent(10L, new HashSet<>(Arrays.asList(1L, 3L))));
+
+        Assertions.assertEquals(Collections.singletonList("C1"), codes(POPULAR));
+    }
+
+    @Test
+    void testOnCourseChanged_appliesCreateUpdateDelete() {
+        index.onCourseChanged(new CourseChangedEvent(CourseChangeType.CREATED, 4L, "C4",
+            response("C4", "2024-01-04 10:00:00"), null));
+        index.onCourseChanged(new CourseChangedEvent(CourseChangeType.UPDATED, 1L, "C1",
+            response("C1", "2024-01-05 10:00:00"), null));
+        index.onCourseChanged(new CourseChangedEvent(CourseChangeType.DELETED, 2L, "C2", null, null));
+
+        Assertions.assertEquals(Arrays.asList("C1", "C4", "C3"), codes(NEWEST));
+        Assertions.assertEquals(Arrays.asList("C1", "C3"), codes(POPULAR));
+    }
+
+    private List<String> codes(Set<CourseFilter> filters) {
+        return index.findAll(null, filters, null, null, PageRequest.of(0, 10)).getContent().stream()
+            .map(CourseResponse::getCode)
+            .collect(Collectors.toList());
+    }
+
+    private static Course course(Long id, Long enrollmentCount, LocalDateTime createdAt) {
+        return Course.builder()
+            .id(id)
+            .code("C" + id)
+            .name("Course " + id)
+            .price(0.0)
+            .category(CourseCategory.OTHER)
+            .type(CourseType.FREE)
+            .level(CourseLevel.BEGINNER)
+            .createdAt(createdAt)
+            .updatedAt(createdAt)
+            .enrollmentCount(enrollmentCount)
+            .build();
+    }
+
+    private static CourseResponse response(String code, String createdAt) {
+        return CourseResponse.builder()
+            .code(code)
+            .name("Course " + code)
+            .price(0.0)
+            .category(CourseCategory.OTHER)
+            .type(CourseType.FREE)
+            .level(CourseLevel.BEGINNER)
+            .createdAt(createdAt)
+            .updatedAt(createdAt)
+            .build();
+    }
+
+}
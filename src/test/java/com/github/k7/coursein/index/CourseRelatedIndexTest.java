@@ -0,0 +1,108 @@
+package com.github.k7.coursein.index;
+
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CourseEnrolledEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+class CourseRelatedIndexTest {
+
+    private CourseRelatedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CourseRelatedIndex(Mockito.mock(JdbcTemplate.class));
+
+        // course n is co-enrolled with course 1 by n users, so course 1 ranks 12 down to 3 and 2 just misses
+        long userId = 1;
+        for (long courseId = 2; courseId <= 12; courseId++) {
+            for (int i = 0; i < courseId; i++) {
+                index.onCourseEnrolled(new CourseEnrolledEvent(courseId, userId++,
+                    new HashSet<>(Arrays.asList(1L, courseId))));
+            }
+        }
+    }
+
+    @Test
+    void testFindRelated_ranksByCoEnrollment() {
+        Assertions.assertEquals(Arrays.asList(12L, 11L, 10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L),
+            index.findRelated(1L, CourseRelatedIndex.TOP_K));
+        Assertions.assertEquals(Collections.singletonList(1L), index.findRelated(12L, CourseRelatedIndex.TOP_K));
+    }
+
+    @Test
+    void testOnCourseChanged_deletedCourseLeavesNeighboursAndIsReplaced() {
+        index.onCourseChanged(new CourseChangedEvent(CourseChangeType.DELETED, 12L, "C12", null, null));
+
+        Assertions.assertEquals(Arrays.asList(11L, 10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L),
+            index.findRelated(1L, CourseRelatedIndex.TOP_K));
+        Assertions.assertTrue(index.findRelated(12L, CourseRelatedIndex.TOP_K).isEmpty());
+    }
+
+    @Test
+    void testOnCourseChanged_replacementKeepsCountingEnrollments() {
+        index.onCourseChanged(new CourseChangedEvent(CourseChangeType.DELETED, 3L, "C3", null, null));
+        index.onCourseEnrolled(new CourseEnrolledEvent(2L, 1000L, new HashSet<>(Arrays.asList(1L, 2L))));
+
+        Assertions.assertEquals(Arrays.asList(12L, 11L, 10L, 9L, 8L, 7L, 6L, 5L, 4L, 2L),
+            index.findRelated(1L, CourseRelatedIndex.TOP_K));
+    }
+
+    @Test
+    void testRebuild_replaysOnlyEnrollmentsMissingFromSnapshot() throws SQLException {
+        JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        CourseRelatedIndex rebuilding = new CourseRelatedIndex(jdbcTemplate);
+
+        // user 1 enrolled in course 2 before the snapshot, user 3 enrolled in course 3 after it
+        Mockito.doAnswer(invocation -> {
+            rebuilding.onCourseEnrolled(new CourseEnrolledEvent(2L, 1L, new HashSet<>(Arrays.asList(1L, 2L))));
+            streamEnrollments(invocation.getArgument(1), new long[][]{{1, 1}, {1, 2}, {2, 1}, {2, 3}, {3, 1}});
+            rebuilding.onCourseEnrolled(new CourseEnrolledEvent(3L, 3L, new HashSet<>(Arrays.asList(1L, 3L))));
+            return null;
+        }).when(jdbcTemplate).query(ArgumentMatchers.anyString(), ArgumentMatchers.any(RowCallbackHandler.class));
+
+        rebuilding.rebuild();
+
+        Assertions.assertEquals(Arrays.asList(3L, 2L), rebuilding.findRelated(1L, CourseRelatedIndex.TOP_K));
+        Assertions.assertEquals(Collections.singletonList(1L), rebuilding.findRelated(2L, CourseRelatedIndex.TOP_K));
+    }
+
+    @Test
+    void testRebuild_replaysDeletionsDuringSnapshot() throws SQLException {
+        JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        CourseRelatedIndex rebuilding = new CourseRelatedIndex(jdbcTemplate);
+
+        Mockito.doAnswer(invocation -> {
+            streamEnrollments(invocation.getArgument(1), new long[][]{{1, 1}, {1, 2}, {2, 1}, {2, 3}});
+            rebuilding.onCourseChanged(new CourseChangedEvent(CourseChangeType.DELETED, 3L, "C3", null, null));
+            return null;
+        }).when(jdbcTemplate).query(ArgumentMatchers.anyString(), ArgumentMatchers.any(RowCallbackHandler.class));
+
+        rebuilding.rebuild();
+
+        Assertions.assertEquals(Collections.singletonList(2L), rebuilding.findRelated(1L, CourseRelatedIndex.TOP_K));
+        Assertions.assertTrue(rebuilding.findRelated(3L, CourseRelatedIndex.TOP_K).isEmpty());
+    }
+
+    private static void streamEnrollments(RowCallbackHandler handler, long[][] rows) throws SQLException {
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        for (long[] row : rows) {
+            Mockito.when(resultSet.getLong(1)).thenReturn(row[0]);
+            Mockito.when(resultSet.getLong(2)).thenReturn(row[1]);
+            handler.processRow(resultSet);
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.github.k7.coursein.index;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.repository.CourseRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class CourseSearchIndexTest {
+
+    private CourseSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CourseSearchIndex(Mockito.mock(CourseRepository.class));
+    }
+
+    @Test
+    void testSearch_nameOutweighsAuthorOutweighsDescription() {
+        put(1L, course("DESC", "Apps", "Rina", "kotlin android", CourseType.FREE, CourseCategory.OTHER));
+        put(2L, course("AUTHOR", "Android", "Kotlin", "rina apps", CourseType.FREE, CourseCategory.OTHER));
+        put(3L, course("NAME", "Kotlin", "Rina", "android apps", CourseType.FREE, CourseCategory.OTHER));
+
+        Assertions.assertEquals(Arrays.asList("NAME", "AUTHOR", "DESC"),
+            codes(search("kotlin", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void testSearch_shorterDocumentRanksFirstForSameFrequency() {
+        put(1L, course("LONG", "Web", "Budi", "golang services deployment monitoring scaling caching",
+            CourseType.FREE, CourseCategory.OTHER));
+        put(2L, course("SHORT", "Web", "Budi", "golang", CourseType.FREE, CourseCategory.OTHER));
+
+        Assertions.assertEquals(Arrays.asList("SHORT", "LONG"), codes(search("golang", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void testSearch_rareTermOutweighsCommonTerm() {
+        put(1L, course("COMMON", "Python Basics", "Budi", "python", CourseType.FREE, CourseCategory.OTHER));
+        put(2L, course("RARE", "Pandas Basics", "Budi", "python", CourseType.FREE, CourseCategory.OTHER));
+        put(3L, course("OTHER", "Python Advanced", "Budi", "python", CourseType.FREE, CourseCategory.OTHER));
+
+        List<String> codes = codes(search("python pandas", PageRequest.of(0, 10)));
+
+        Assertions.assertEquals("RARE", codes.get(0));
+        Assertions.assertEquals(3, codes.size());
+    }
+
+    @Test
+    void testSearch_filtersByTypeAndCategory() {
+        put(1L, course("FREE_WEB", "React", "Budi", "", CourseType.FREE, CourseCategory.WEB_DEVELOPMENT));
+        put(2L, course("PAID_WEB", "React", "Budi", "", CourseType.PREMIUM, CourseCategory.WEB_DEVELOPMENT));
+        put(3L, course("PAID_IOS", "React", "Budi", "", CourseType.PREMIUM, CourseCategory.IOS_DEVELOPMENT));
+
+        Page<CourseResponse> page = index.search("react", CourseType.PREMIUM,
+            EnumSet.of(CourseCategory.WEB_DEVELOPMENT), null, PageRequest.of(0, 10));
+
+        Assertions.assertEquals(Collections.singletonList("PAID_WEB"), codes(page));
+        Assertions.assertEquals(1, page.getTotalElements());
+    }
+
+    @Test
+    void testSearch_pagesThroughRankedMatches() {
+        put(1L, course("ONE", "Docker", "Budi", "", CourseType.FREE, CourseCategory.OTHER));
+        put(2L, course("TWO", "Docker Docker", "Budi", "", CourseType.FREE, CourseCategory.OTHER));
+        put(3L, course("THREE", "Docker", "Budi", "extra words here", CourseType.FREE, CourseCategory.OTHER));
+
+        List<String> all = codes(search("docker", PageRequest.of(0, 10)));
+        Page<CourseResponse> second = search("docker", PageRequest.of(1, 2));
+
+        Assertions.assertEquals(all.subList(2, 3), codes(second));
+        Assertions.assertEquals(3, second.getTotalElements());
+        Assertions.assertTrue(search("docker", PageRequest.of(2, 2)).getContent().isEmpty());
+    }
+
+    @Test
+    void testSearch_hugePageOrSizeDoesNotOverflow() {
+        put(1L, course("ONE", "Docker", "Budi", "", CourseType.FREE, CourseCategory.OTHER));
+
+        Assertions.assertEquals(Collections.singletonList("ONE"),
+            codes(search("docker", PageRequest.of(0, Integer.MAX_VALUE))));
+        Assertions.assertTrue(search("docker", PageRequest.of(Integer.MAX_VALUE, Integer.MAX_VALUE))
+            .getContent().isEmpty());
+    }
+
+    @Test
+    void testOnCourseChanged_updateReplacesIndexedTerms() {
+        put(1L, course("C1", "Angular", "Budi", "", CourseType.FREE, CourseCategory.OTHER));
+
+        index.onCourseChanged(new CourseChangedEvent(CourseChangeType.UPDATED, 1L, "C1",
+            course("C1", "Svelte", "Budi", "", CourseType.FREE, CourseCategory.OTHER), null));
+
+        Assertions.assertTrue(search("angular", PageRequest.of(0, 10)).getContent().isEmpty());
+        Assertions.assertEquals(Collections.singletonList("C1"), codes(search("svelte", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void testOnCourseChanged_deleteRemovesDocument() {
+        put(1L, course("C1", "Flutter", "Budi", "", CourseType.FREE, CourseCategory.OTHER));
+        put(2L, course("C2", "Flutter", "Rina", "", CourseType.FREE, CourseCategory.OTHER));
+
+        index.onCourseChanged(new CourseChangedEvent(CourseChangeType.DELETED, 1L, "C1", null, null));
+
+        Page<CourseResponse> page = search("flutter", PageRequest.of(0, 10));
+        Assertions.assertEquals(Collections.singletonList("C2"), codes(page));
+        Assertions.assertEquals(1, page.getTotalElements());
+    }
+
+    @Test
+    void testOnCourseChanged_compactionKeepsLiveDocuments() {
+        for (long id = 1; id <= 400; id++) {
+            put(id, course("C" + id, "Rust", "Budi", "", CourseType.FREE, CourseCategory.OTHER));
+        }
+
+        for (long id = 1; id <= 390; id++) {
+            index.onCourseChanged(new CourseChangedEvent(CourseChangeType.DELETED, id, "C" + id, null, null));
+        }
+
+        Page<CourseResponse> page = search("rust", PageRequest.of(0, 100));
+        Assertions.assertEquals(10, page.getTotalElements());
+        Assertions.assertEquals(
+            Arrays.asList("C391", "C392", "C393", "C394", "C395", "C396", "C397", "C398", "C399", "C400"),
+            codes(page).stream().sorted(this::compareCodes).collect(Collectors.toList()));
+    }
+
+    private int compareCodes(String left, String right) {
+        return Integer.compare(Integer.parseInt(left.substring(1)), Integer.parseInt(right.substring(1)));
+    }
+
+    private void put(Long id, CourseResponse course) {
+        index.onCourseChanged(new CourseChangedEvent(CourseChangeType.CREATED, id, course.getCode(), course, null));
+    }
+
+    private Page<CourseResponse> search(String query, Pageable pageable) {
+        return index.search(query, null, null, null, pageable);
+    }
+
+    private static List<String> codes(Page<CourseResponse> page) {
+        return page.getContent().stream().map(CourseResponse::getCode).collect(Collectors.toList());
+    }
+
+    private static CourseResponse course(String code,
+                                         String name,
+                                         String author,
+                                         String description,
+                                         CourseType type,
+                                         CourseCategory category) {
+        return CourseResponse.builder()
+            .code(code)
+            .name(name)
+            .author(author)
+            .description(description)
+            .price(0.0)
+            .link("https://course-in.test/" + code)
+            .category(category)
+            .type(type)
+            .level(CourseLevel.BEGINNER)
+            .build();
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.github.k7.coursein.index;
+
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.event.CourseChangedEvent;
+import com.github.k7.coursein.event.CourseEnrolledEvent;
+import com.github.k7.coursein.event.EnrollmentsRemovedEvent;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.model.SuggestionResponse;
+import com.github.k7.coursein.repository.CourseRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.when;
+
+class CourseSuggestTrieTest {
+
+    private CourseRepository courseRepository;
+
+    private CourseSuggestTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository = Mockito.mock(CourseRepository.class);
+        trie = new CourseSuggestTrie(courseRepository);
+    }
+
+    @Test
+    void testSuggest_matchesCodePrefixIgnoringCase() {
+        load(row(1L, "WP1", "Web Programming", 5), row(2L, "WP2", "Mobile Apps", 3), row(3L, "DS1", "Data Science", 9));
+
+        Assertions.assertEquals(Arrays.asList("WP1", "WP2"), codes(trie.suggest("wp", 10)));
+        Assertions.assertEquals(Collections.singletonList("WP2"), codes(trie.suggest("WP2", 10)));
+        Assertions.assertTrue(trie.suggest("wp3", 10).isEmpty());
+    }
+
+    @Test
+    void testSuggest_matchesPrefixOfEveryWordSuffixOfName() {
+        load(row(1L, "WP1", "Web Programming", 5), row(2L, "DS1", "Data Science", 9));
+
+        Assertions.assertEquals(Collections.singletonList("WP1"), codes(trie.suggest("prog", 10)));
+        Assertions.assertEquals(Collections.singletonList("WP1"), codes(trie.suggest("Web  Prog", 10)));
+        Assertions.assertEquals(Collections.singletonList("DS1"), codes(trie.suggest(" sci ", 10)));
+        Assertions.assertTrue(trie.suggest("rogramming", 10).isEmpty());
+        Assertions.assertTrue(trie.suggest("programming web", 10).isEmpty());
+    }
+
+    @Test
+    void testSuggest_blankPrefixOrSizeReturnsNothing() {
+        load(row(1L, "WP1", "Web Programming", 5));
+
+        Assertions.assertTrue(trie.suggest("  ", 10).isEmpty());
+        Assertions.assertTrue(trie.suggest(null, 10).isEmpty());
+        Assertions.assertTrue(trie.suggest("wp", 0).isEmpty());
+    }
+
+    @Test
+    void testSuggest_returnsTopKByPopularity() {
+        load(kotlinCourses(15));
+
+        Assertions.assertEquals(Arrays.asList("K15", "K14", "K13", "K12", "K11", "K10", "K9", "K8", "K7", "K6"),
+            codes(trie.suggest("kotlin", 20)));
+        Assertions.assertEquals(Arrays.asList("K15", "K14", "K13"), codes(trie.suggest("kot", 3)));
+    }
+
+    @Test
+    void testSuggest_tiesRankByNameAndEnrollmentsReorder() {
+        load(row(1L, "G1", "Go Basics", 2), row(2L, "G2", "Go Advanced", 2));
+
+        Assertions.assertEquals(Arrays.asList("G2", "G1"), codes(trie.suggest("go", 10)));
+
+        trie.onCourseEnrolled(new CourseEnrolledEvent(1L, 7L, Collections.singleton(1L)));
+        Assertions.assertEquals(Arrays.asList("G1", "G2"), codes(trie.suggest("go", 10)));
+
+        trie.onEnrollmentsRemoved(new EnrollmentsRemovedEvent(7L, Collections.singleton(1L)));
+        Assertions.assertEquals(Arrays.asList("G2", "G1"), codes(trie.suggest("go", 10)));
+    }
+
+    @Test
+    void testOnCourseChanged_deleteRemovesCodeAndNameKeys() {
+        load(row(1L, "WP1", "Web Programming", 5), row(2L, "WP2", "Mobile Apps", 3));
+
+        trie.onCourseChanged(new CourseChangedEvent(CourseChangeType.DELETED, 1L, "WP1", null, null));
+
+        Assertions.assertEquals(Collections.singletonList("WP2"), codes(trie.suggest("wp", 10)));
+        Assertions.assertTrue(trie.suggest("wp1", 10).isEmpty());
+        Assertions.assertTrue(trie.suggest("prog", 10).isEmpty());
+        Assertions.assertTrue(trie.suggest("web", 10).isEmpty());
+
+        trie.onCourseChanged(new CourseChangedEvent(CourseChangeType.CREATED, 3L, "WP1",
+            course("WP1", "Web Programming"), null));
+        Assertions.assertEquals(Collections.singletonList("WP1"), codes(trie.suggest("web pro", 10)));
+    }
+
+    @Test
+    void testOnCourseChanged_deleteFromTopKPromotesNextCourse() {
+        load(kotlinCourses(15));
+
+        trie.onCourseChanged(new CourseChangedEvent(CourseChangeType.DELETED, 15L, "K15", null, null));
+
+        Assertions.assertEquals(Arrays.asList("K14", "K13", "K12", "K11", "K10", "K9", "K8", "K7", "K6", "K5"),
+            codes(trie.suggest("kotlin", 10)));
+    }
+
+    @Test
+    void testOnCourseChanged_renameReplacesNameKeysAndKeepsPopularity() {
+        load(row(1L, "WP1", "Web Programming", 5), row(2L, "WP2", "Web Design", 3));
+
+        trie.onCourseChanged(new CourseChangedEvent(CourseChangeType.UPDATED, 1L, "WP1",
+            course("WP1", "Web Security"), null));
+
+        Assertions.assertTrue(trie.suggest("prog", 10).isEmpty());
+        Assertions.assertEquals(Collections.singletonList("WP1"), codes(trie.suggest("secu", 10)));
+        Assertions.assertEquals(Arrays.asList("WP1", "WP2"), codes(trie.suggest("web", 10)));
+    }
+
+    private void load(Object[]... rows) {
+        load(Arrays.asList(rows));
+    }
+
+    private void load(List<Object[]> rows) {
+        when(courseRepository.findAllForSuggestion()).thenReturn(rows);
+        trie.load();
+    }
+
+    private static List<Object[]> kotlinCourses(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            rows.add(row(id, "K" + id, "Kotlin " + id, id));
+        }
+        return rows;
+    }
+
+    private static Object[] row(Long id, String code, String name, long popularity) {
+        return new Object[]{id, code, name, popularity};
+    }
+
+    private static CourseResponse course(String code, String name) {
+        return CourseResponse.builder()
+            .code(code)
+            .name(name)
+            .build();
+    }
+
+    private static List<String> codes(List<SuggestionResponse> suggestions) {
+        return suggestions.stream().map(SuggestionResponse::getCode).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.github.k7.coursein.index;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTest {
+
+    @Test
+    void testAddTo_accumulatesAcrossGrowth() {
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key = 1; key <= 1000; key++) {
+            map.addTo(key, (int) key);
+            map.addTo(key, 1);
+        }
+
+        Assertions.assertEquals(1000, map.size());
+        for (long key = 1; key <= 1000; key++) {
+            Assertions.assertEquals(key + 1, map.get(key));
+        }
+    }
+
+    @Test
+    void testRemove_keepsOtherKeysReachable() {
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key = 1; key <= 1000; key++) {
+            map.addTo(key, (int) key);
+        }
+
+        for (long key = 2; key <= 1000; key += 2) {
+            Assertions.assertEquals(key, map.remove(key));
+        }
+
+        Assertions.assertEquals(500, map.size());
+        for (long key = 1; key <= 1000; key++) {
+            Assertions.assertEquals(key % 2 == 0 ? 0 : key, map.get(key));
+        }
+        Assertions.assertEquals(0, map.remove(2));
+        Assertions.assertEquals(0, map.remove(0));
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.github.k7.coursein.index;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+class TextAnalyzerTest {
+
+    @Test
+    void testNormalize_stripsDiacriticsAndLowercases() {
+        Assertions.assertEquals("pemrograman cafe", TextAnalyzer.normalize("Pemrogramán CAFÉ"));
+        Assertions.assertEquals("", TextAnalyzer.normalize(null));
+    }
+
+    @Test
+    void testAnalyze_splitsOnPunctuationAndDropsStopWords() {
+        Assertions.assertEquals(Arrays.asList("belajar", "java", "spring"),
+            TextAnalyzer.analyze("Belajar Java dan Spring!"));
+        Assertions.assertEquals(Arrays.asList("art", "war"), TextAnalyzer.analyze("The Art of War"));
+        Assertions.assertEquals(Collections.emptyList(), TextAnalyzer.analyze(null));
+    }
+
+    @Test
+    void testAnalyze_keepsTokensWithDigits() {
+        Assertions.assertEquals(Arrays.asList("html5", "css3"), TextAnalyzer.analyze("HTML5 & CSS3"));
+    }
+
+    @Test
+    void testStem_indonesianAffixes() {
+        Assertions.assertEquals(TextAnalyzer.stem("pemrograman"), TextAnalyzer.stem("pemrogramannya"));
+        Assertions.assertEquals(TextAnalyzer.stem("aplikasi"), TextAnalyzer.stem("aplikasinya"));
+        Assertions.assertEquals("ajar", TextAnalyzer.stem("pengajar"));
+    }
+
+    @Test
+    void testStem_englishSuffixes() {
+        Assertions.assertEquals("course", TextAnalyzer.stem("courses"));
+        Assertions.assertEquals("library", TextAnalyzer.stem("libraries"));
+        Assertions.assertEquals("test", TextAnalyzer.stem("testing"));
+        Assertions.assertEquals("class", TextAnalyzer.stem("class"));
+    }
+
+    @Test
+    void testStem_leavesShortTokensAlone() {
+        Assertions.assertEquals("apps", TextAnalyzer.stem("apps"));
+        Assertions.assertEquals("java", TextAnalyzer.stem("java"));
+    }
+
+}
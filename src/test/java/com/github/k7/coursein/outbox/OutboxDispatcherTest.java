@@ -0,0 +1,134 @@
+package com.github.k7.coursein.outbox;
+
+import com.github.k7.coursein.entity.OutboxMessage;
+import com.github.k7.coursein.enums.OutboxMessageType;
+import com.github.k7.coursein.repository.OutboxMessageRepository;
+import com.github.k7.coursein.service.OrderService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTest {
+
+    private static final int BATCH_SIZE = 10;
+
+    private static final long LEASE_SECONDS = 300;
+
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+
+    private OutboxMessageRepository outboxMessageRepository;
+
+    private OrderService orderService;
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository = Mockito.mock(OutboxMessageRepository.class);
+        orderService = Mockito.mock(OrderService.class);
+
+        PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        doAnswer(invocation -> {
+            inTransaction.set(true);
+            return null;
+        }).when(transactionManager).getTransaction(any());
+        doAnswer(invocation -> {
+            inTransaction.set(false);
+            return null;
+        }).when(transactionManager).commit(any());
+
+        dispatcher = new OutboxDispatcher(outboxMessageRepository, orderService,
+            new TransactionTemplate(transactionManager), BATCH_SIZE, LEASE_SECONDS);
+    }
+
+    @Test
+    void testDispatchBatch_leasesSendsOutsideTransactionAndDeletes() {
+        OutboxMessage first = message(1L, "first@course-in.test", 0);
+        OutboxMessage second = message(2L, "second@course-in.test", 0);
+        when(outboxMessageRepository.lockAvailable(any(LocalDateTime.class), eq(BATCH_SIZE)))
+            .thenReturn(Arrays.asList(first, second));
+        doAnswer(invocation -> {
+            Assertions.assertFalse(inTransaction.get(), "mail must not be sent while rows are locked");
+            return null;
+        }).when(orderService).sendPaymentMessageToEmail(Mockito.anyString());
+
+        LocalDateTime before = LocalDateTime.now();
+        Assertions.assertEquals(2, dispatcher.dispatchBatch());
+
+        Assertions.assertFalse(first.getAvailableAt().isBefore(before.plusSeconds(LEASE_SECONDS)));
+        Assertions.assertFalse(second.getAvailableAt().isBefore(before.plusSeconds(LEASE_SECONDS)));
+        Mockito.verify(orderService).sendPaymentMessageToEmail("first@course-in.test");
+        Mockito.verify(orderService).sendPaymentMessageToEmail("second@course-in.test");
+        Mockito.verify(outboxMessageRepository).deleteByIds(Arrays.asList(1L, 2L));
+        Mockito.verify(outboxMessageRepository, Mockito.never()).reschedule(any(), anyInt(), any());
+    }
+
+    @Test
+    void testDispatchBatch_reschedulesFailedDeliveryWithBackoff() {
+        OutboxMessage delivered = message(1L, "ok@course-in.test", 0);
+        OutboxMessage failing = message(2L, "broken@course-in.test", 3);
+        when(outboxMessageRepository.lockAvailable(any(LocalDateTime.class), eq(BATCH_SIZE)))
+            .thenReturn(Arrays.asList(delivered, failing));
+        doThrow(new IllegalStateException("SMTP unavailable"))
+            .when(orderService).sendPaymentMessageToEmail("broken@course-in.test");
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatchBatch();
+        LocalDateTime after = LocalDateTime.now();
+
+        ArgumentCaptor<LocalDateTime> availableAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        Mockito.verify(outboxMessageRepository).deleteByIds(Collections.singletonList(1L));
+        Mockito.verify(outboxMessageRepository).reschedule(eq(2L), eq(4), availableAt.capture());
+        Assertions.assertFalse(availableAt.getValue().isBefore(before.plusSeconds(16)));
+        Assertions.assertFalse(availableAt.getValue().isAfter(after.plusSeconds(16)));
+    }
+
+    @Test
+    void testDispatchBatch_emptyOutboxSettlesNothing() {
+        when(outboxMessageRepository.lockAvailable(any(LocalDateTime.class), eq(BATCH_SIZE)))
+            .thenReturn(Collections.emptyList());
+
+        Assertions.assertEquals(0, dispatcher.dispatchBatch());
+
+        Mockito.verify(outboxMessageRepository, Mockito.never()).deleteByIds(anyList());
+        Mockito.verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void testBackoffSeconds_doublesUpToOneHour() {
+        Assertions.assertEquals(2, OutboxDispatcher.backoffSeconds(1));
+        Assertions.assertEquals(16, OutboxDispatcher.backoffSeconds(4));
+        Assertions.assertEquals(3600, OutboxDispatcher.backoffSeconds(12));
+        Assertions.assertEquals(3600, OutboxDispatcher.backoffSeconds(40));
+    }
+
+    private static OutboxMessage message(Long id, String recipient, int attempts) {
+        return OutboxMessage.builder()
+            .id(id)
+            .type(OutboxMessageType.PAYMENT_EMAIL)
+            .orderId("INV-20240105-00000" + id)
+            .recipient(recipient)
+            .attempts(attempts)
+            .availableAt(LocalDateTime.now())
+            .createdAt(LocalDateTime.now())
+            .build();
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.model.CourseChangesResponse;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.service.CourseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Commits for real, since the advisory lock is only released by a commit; every course this test creates carries the
+ * {@code FEED-} prefix and is removed together with its change-log rows afterwards.
+ */
+@SpringBootTest(properties = "course.catalog.index.enabled=false")
+class CourseChangeFeedTest {
+
+    @Autowired
+    private CourseChangeRepository courseChangeRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private long baseline;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        baseline = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(version), 0) FROM course_changes", Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM course_changes WHERE code LIKE 'FEED-%'");
+        jdbcTemplate.update("DELETE FROM courses WHERE code LIKE 'FEED-%'");
+    }
+
+    @Test
+    void testAppend_waitsForEarlierAppendToCommit() throws Exception {
+        long firstId = insertCourse("FEED-A");
+        long secondId = insertCourse("FEED-B");
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                courseChangeRepository.append(CourseChangeType.CREATED, Collections.singletonMap(firstId, "FEED-A"));
+                locked.countDown();
+                await(release);
+            }));
+            Assertions.assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+            Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                courseChangeRepository.append(CourseChangeType.CREATED, Collections.singletonMap(secondId, "FEED-B"))
+            ));
+            Assertions.assertThrows(TimeoutException.class, () -> second.get(500, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(Arrays.asList("FEED-A", "FEED-B"), jdbcTemplate.queryForList(
+            "SELECT code FROM course_changes WHERE version > ? ORDER BY version", String.class, baseline));
+    }
+
+    @Test
+    void testGetCourseChanges_pagesBySinceVersionAndReportsDeletedCourses() {
+        long firstId = insertCourse("FEED-A");
+        long secondId = insertCourse("FEED-B");
+        Map<Long, String> created = new LinkedHashMap<>();
+        created.put(firstId, "FEED-A");
+        created.put(secondId, "FEED-B");
+        append(CourseChangeType.CREATED, created);
+
+        CourseChangesResponse first = courseService.getCourseChanges(baseline, 2);
+        Assertions.assertEquals(Arrays.asList("FEED-A", "FEED-B"), codesOf(first.getCourses()));
+        Assertions.assertTrue(first.getDeleted().isEmpty());
+        Assertions.assertTrue(first.isHasMore());
+
+        jdbcTemplate.update("UPDATE courses SET name = 'Feed A v2' WHERE id = ?", firstId);
+        append(CourseChangeType.UPDATED, Collections.singletonMap(firstId, "FEED-A"));
+        jdbcTemplate.update("DELETE FROM courses WHERE id = ?", secondId);
+        append(CourseChangeType.DELETED, Collections.singletonMap(secondId, "FEED-B"));
+
+        CourseChangesResponse second = courseService.getCourseChanges(first.getVersion(), 2);
+        Assertions.assertEquals(Collections.singletonList("FEED-A"), codesOf(second.getCourses()));
+        Assertions.assertEquals("Feed A v2", second.getCourses().get(0).getName());
+        Assertions.assertEquals(Collections.singletonList("FEED-B"), second.getDeleted());
+        Assertions.assertEquals(first.getVersion() + 2, second.getVersion());
+
+        CourseChangesResponse last = courseService.getCourseChanges(second.getVersion(), 2);
+        Assertions.assertTrue(last.getCourses().isEmpty());
+        Assertions.assertTrue(last.getDeleted().isEmpty());
+        Assertions.assertFalse(last.isHasMore());
+        Assertions.assertEquals(second.getVersion(), last.getVersion());
+    }
+
+    private void append(CourseChangeType type, Map<Long, String> codes) {
+        transactionTemplate.executeWithoutResult(status -> courseChangeRepository.append(type, codes));
+    }
+
+    private long insertCourse(String code) {
+        return jdbcTemplate.queryForObject(
+            "INSERT INTO courses (code, name, author, description, price, link, category, type, level, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, now(), now()) RETURNING id",
+            Long.class,
+            code, "Feed " + code, "Budi", "Change feed course", 100.0, "https://course-in.test/" + code,
+            CourseCategory.WEB_DEVELOPMENT.name(), CourseType.PREMIUM.name(), CourseLevel.BEGINNER.name()
+        );
+    }
+
+    private static List<String> codesOf(List<CourseResponse> courses) {
+        return courses.stream().map(CourseResponse::getCode).collect(Collectors.toList());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseFilter;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseSort;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.service.CourseService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Explains the statements Hibernate actually sends for the catalog listings, captured with a
+ * {@link StatementInspector}. The plan is the generic one PostgreSQL caches for a prepared statement, so it does not
+ * depend on the bound values.
+ */
+@SpringBootTest(properties = "course.catalog.index.enabled=false")
+@Transactional
+class CourseQueryPlanTest {
+
+    private static final String PLAN_STATEMENT = "course_listing_plan";
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingStatementInspector statementInspector;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+    }
+
+    @Test
+    void testFilteredPriceQuery_usesTypeCategoryLevelPriceIndex() {
+        assertPlanUses("idx_courses_type_category_level_price", () -> courseService.getAllCourse(
+            CourseType.PREMIUM, null, Collections.singleton(CourseCategory.WEB_DEVELOPMENT),
+            Collections.singleton(CourseLevel.BEGINNER), 10.0, 100.0, CourseSort.PRICE_ASC, 0, 10));
+    }
+
+    @Test
+    void testNewestQuery_usesCreatedAtIndex() {
+        assertPlanUses("idx_courses_created_at_id", () -> courseService.getAllCourse(
+            null, null, null, null, null, null, CourseSort.NEWEST, 0, 10));
+    }
+
+    @Test
+    void testPopularQuery_usesEnrollmentCountIndex() {
+        assertPlanUses("idx_courses_enrollment_count", () -> courseService.getAllCourse(
+            null, Collections.singleton(CourseFilter.POPULAR), null, null, null, null, null, 0, 10));
+    }
+
+    private void assertPlanUses(String index, Runnable listing) {
+        statementInspector.clear();
+        listing.run();
+        String sql = statementInspector.listingQuery();
+
+        String plan = String.join("\n", explain(sql));
+        Assertions.assertTrue(plan.contains(index), "expected " + index + " in plan of\n" + sql + "\n" + plan);
+    }
+
+    private List<String> explain(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        StringJoiner parameters = new StringJoiner(", ", "(", ")");
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+                parameters.add("NULL");
+            } else {
+                numbered.append(c);
+            }
+        }
+
+        jdbcTemplate.execute("PREPARE " + PLAN_STATEMENT + " AS " + numbered);
+        try {
+            String execute = "EXECUTE " + PLAN_STATEMENT + (parameter == 0 ? "" : parameters.toString());
+            return jdbcTemplate.queryForList("EXPLAIN " + execute, String.class);
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE " + PLAN_STATEMENT);
+        }
+    }
+
+    static class RecordingStatementInspector implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        String listingQuery() {
+            return statements.stream()
+                .filter(sql -> {
+                    String lower = sql.toLowerCase(Locale.ROOT);
+                    return lower.contains(" from courses ") && lower.contains(" order by ");
+                })
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no listing query captured in " + statements));
+        }
+
+    }
+
+    @TestConfiguration
+    static class StatementInspectorConfiguration {
+
+        @Bean
+        RecordingStatementInspector recordingStatementInspector() {
+            return new RecordingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(RecordingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+
+    }
+
+}
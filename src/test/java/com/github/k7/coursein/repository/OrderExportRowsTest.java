@@ -0,0 +1,120 @@
+package com.github.k7.coursein.repository;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.enums.OrderStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs against the database inside a rolled back transaction; only orders created by this test carry the
+ * {@code INV-EXPORT-} prefix, so other rows in the table are filtered out of the assertions.
+ */
+@SpringBootTest(properties = "course.catalog.index.enabled=false")
+@Transactional
+class OrderExportRowsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2031, 3, 10, 0, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Long userId = jdbcTemplate.queryForObject(
+            "INSERT INTO users (name, username, email, password, enabled, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, now(), now()) RETURNING id",
+            Long.class,
+            "Export", "export-buyer", "export-buyer@course-in.test", "Password", true
+        );
+        Long courseId = jdbcTemplate.queryForObject(
+            "INSERT INTO courses (code, name, author, description, price, link, category, type, level, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, now(), now()) RETURNING id",
+            Long.class,
+            "EXPORT1", "Java, \"Spring\"", "Budi", "Export course", 100.0, "https://course-in.test/export1",
+            CourseCategory.WEB_DEVELOPMENT.name(), CourseType.PREMIUM.name(), CourseLevel.BEGINNER.name()
+        );
+
+        insertOrder("INV-EXPORT-1", DAY.minusSeconds(1), OrderStatus.COMPLETED, userId, courseId);
+        insertOrder("INV-EXPORT-2", DAY, OrderStatus.PROCESSING, userId, courseId);
+        insertOrder("INV-EXPORT-3", DAY.plusHours(12), OrderStatus.COMPLETED, userId, courseId);
+        insertOrder("INV-EXPORT-4", DAY.plusDays(1), OrderStatus.COMPLETED, userId, courseId);
+    }
+
+    @Test
+    void testForEachExportRow_withoutFiltersReturnsEveryOrder() {
+        Assertions.assertEquals(Arrays.asList("INV-EXPORT-1", "INV-EXPORT-2", "INV-EXPORT-3", "INV-EXPORT-4"),
+            exportedIds(null, null, null));
+    }
+
+    @Test
+    void testForEachExportRow_filtersByStatus() {
+        Assertions.assertEquals(Arrays.asList("INV-EXPORT-1", "INV-EXPORT-3", "INV-EXPORT-4"),
+            exportedIds(OrderStatus.COMPLETED, null, null));
+        Assertions.assertEquals(Collections.singletonList("INV-EXPORT-2"),
+            exportedIds(OrderStatus.PROCESSING, null, null));
+    }
+
+    @Test
+    void testForEachExportRow_fromIsInclusiveAndToIsExclusive() {
+        Assertions.assertEquals(Arrays.asList("INV-EXPORT-2", "INV-EXPORT-3"),
+            exportedIds(null, DAY, DAY.plusDays(1)));
+        Assertions.assertEquals(Collections.singletonList("INV-EXPORT-3"),
+            exportedIds(OrderStatus.COMPLETED, DAY, DAY.plusDays(1)));
+        Assertions.assertEquals(Collections.singletonList("INV-EXPORT-1"), exportedIds(null, null, DAY));
+    }
+
+    @Test
+    void testForEachExportRow_mapsJoinedColumns() {
+        List<OrderExportRow> rows = new ArrayList<>();
+        orderRepository.forEachExportRow(OrderStatus.PROCESSING, DAY, DAY.plusSeconds(1), rows::add);
+
+        Assertions.assertEquals(1, rows.size());
+        OrderExportRow row = rows.get(0);
+        Assertions.assertEquals("INV-EXPORT-2", row.getId());
+        Assertions.assertEquals("export-buyer", row.getUsername());
+        Assertions.assertEquals("EXPORT1", row.getCourseCode());
+        Assertions.assertEquals("Java, \"Spring\"", row.getCourseName());
+        Assertions.assertEquals(CourseCategory.WEB_DEVELOPMENT.name(), row.getCategory());
+        Assertions.assertEquals(OrderStatus.PROCESSING.name(), row.getStatus());
+        Assertions.assertEquals(0, new BigDecimal("111").compareTo(row.getTotalTransfer()));
+        Assertions.assertEquals(DAY, row.getCreatedAt());
+        Assertions.assertNull(row.getCompletedAt());
+    }
+
+    private List<String> exportedIds(OrderStatus status, LocalDateTime from, LocalDateTime to) {
+        List<String> ids = new ArrayList<>();
+        orderRepository.forEachExportRow(status, from, to, row -> ids.add(row.getId()));
+        return ids.stream()
+            .filter(id -> id.startsWith("INV-EXPORT-"))
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    private void insertOrder(String id, LocalDateTime createdAt, OrderStatus status, Long userId, Long courseId) {
+        jdbcTemplate.update(
+            "INSERT INTO orders (id, created_at, status, user_id, course_id, total_transfer) "
+                + "VALUES (?, ?, ?, ?, ?, ?)",
+            id, Timestamp.valueOf(createdAt), status.name(), userId, courseId, 111.0
+        );
+    }
+
+}
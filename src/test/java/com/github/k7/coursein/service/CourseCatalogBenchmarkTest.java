@@ -0,0 +1,121 @@
+package com.github.k7.coursein.service;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseFilter;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Opt-in benchmark for GET /api/v1/courses, run with {@code -Dbenchmark=true}.
+ * Seeds the catalog inside a rolled back transaction and compares p99 latency at 10k and 100k courses.
+ */
+@Slf4j
+@SpringBootTest
+@Transactional
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CourseCatalogBenchmarkTest {
+
+    private static final int WARM_UP = 50;
+
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testGetAllCourse_p99LatencyDependsOnPageSize() {
+        seedCourses(0, 10_000);
+        long p99Small = measureP99();
+
+        seedCourses(10_000, 100_000);
+        long p99Large = measureP99();
+
+        log.info("getAllCourse p99 latency: 10k courses = {} us, 100k courses = {} us", p99Small, p99Large);
+
+        Assertions.assertTrue(p99Large < Math.max(p99Small, 1_000) * 5,
+            "p99 latency should not grow with catalog size");
+    }
+
+    private long measureP99() {
+        for (int i = 0; i < WARM_UP; i++) {
+            runQueries(i);
+        }
+
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            runQueries(i);
+            samples[i] = (System.nanoTime() - start) / 1_000;
+        }
+
+        Arrays.sort(samples);
+        return samples[(int) Math.ceil(ITERATIONS * 0.99) - 1];
+    }
+
+    private void runQueries(int iteration) {
+        CourseCategory category = CourseCategory.values()[iteration % CourseCategory.values().length];
+        CourseLevel level = CourseLevel.values()[iteration % CourseLevel.values().length];
+
+        courseService.getAllCourse(null, null, null, null, null, null, null, iteration % 20, 10);
+        courseService.getAllCourse(CourseType.PREMIUM, EnumSet.of(CourseFilter.NEWEST),
+            EnumSet.of(category), EnumSet.of(level), null, null, null, 0, 10);
+        courseService.getAllCourse(
+            null, Collections.singleton(CourseFilter.NEWEST), null, null, null, null, null, 5, 10);
+    }
+
+    private void seedCourses(int from, int to) {
+        String sql = "INSERT INTO courses (code, name, author, description, price, link, category, type, level, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        List<Object[]> batch = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = from; i < to; i++) {
+            CourseType type = i % 3 == 0 ? CourseType.FREE : CourseType.PREMIUM;
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(i));
+
+            batch.add(new Object[]{
+                "BENCH" + i,
+                "Benchmark Course " + i,
+                "Benchmark",
+                "Benchmark course description " + i,
+                type == CourseType.FREE ? 0.0 : 100_000.0 + i,
+                "https://benchmark.course-in.test/" + i,
+                CourseCategory.values()[i % CourseCategory.values().length].name(),
+                type.name(),
+                CourseLevel.values()[i % CourseLevel.values().length].name(),
+                createdAt,
+                createdAt
+            });
+
+            if (batch.size() == 1_000) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.github.k7.coursein.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.k7.coursein.entity.Course;
+import com.github.k7.coursein.entity.Intended;
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseChangeType;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.event.CoursesImportedEvent;
+import com.github.k7.coursein.model.ImportCourseError;
+import com.github.k7.coursein.model.ImportCourseResponse;
+import com.github.k7.coursein.repository.CourseChangeRepository;
+import com.github.k7.coursein.repository.CourseRepository;
+import com.github.k7.coursein.repository.IntendedRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+class CourseImportServiceTest {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(CourseImportServiceImpl.TEXT_CSV_VALUE);
+
+    private static final String HEADER = "code,name,author,description,price,link,category,type,level,intendeds\r\n";
+
+    private CourseRepository courseRepository;
+
+    private IntendedRepository intendedRepository;
+
+    private CourseChangeRepository courseChangeRepository;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private CourseImportService courseImportService;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository = Mockito.mock(CourseRepository.class);
+        intendedRepository = Mockito.mock(IntendedRepository.class);
+        courseChangeRepository = Mockito.mock(CourseChangeRepository.class);
+        eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+
+        courseImportService = new CourseImportServiceImpl(courseRepository, intendedRepository,
+            courseChangeRepository, Mockito.mock(ValidationService.class), new ObjectMapper(),
+            new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)), eventPublisher);
+    }
+
+    @Test
+    void testImportCourses_quotedFieldsAreImportedVerbatim() {
+        ImportCourseResponse response = importCsv(HEADER
+            + "wp1,\"Java, Spring\",Budi,\"The \"\"best\"\" course\r\nsecond line\",0,https://course-in.test/wp1,"
+            + "web_development,premium,beginner,\"Backend | Java\"\r\n");
+
+        Assertions.assertEquals(1, response.getTotal());
+        Assertions.assertEquals(1, response.getImported());
+        Assertions.assertTrue(response.getErrors().isEmpty());
+
+        Course course = insertedCourses().get(0);
+        Assertions.assertEquals("WP1", course.getCode());
+        Assertions.assertEquals("Java, Spring", course.getName());
+        Assertions.assertEquals("The \"best\" course\r\nsecond line", course.getDescription());
+        Assertions.assertEquals(CourseCategory.WEB_DEVELOPMENT, course.getCategory());
+        Assertions.assertEquals(CourseType.FREE, course.getType());
+        Assertions.assertEquals(new LinkedHashSet<>(Arrays.asList("Backend", "Java")),
+            course.getIntendeds().stream().map(Intended::getPurpose).collect(Collectors.toSet()));
+        Mockito.verify(intendedRepository).insertAll(anyList());
+        Mockito.verify(courseChangeRepository).append(eq(CourseChangeType.CREATED), any());
+        Mockito.verify(eventPublisher).publishEvent(any(CoursesImportedEvent.class));
+    }
+
+    @Test
+    void testImportCourses_reportsEachBadRowAndImportsTheRest() {
+        ImportCourseResponse response = importCsv(HEADER
+            + row("WP1", "Web") + "\r\n"
+            + "WP2,Mobile,Budi,,cheap,https://course-in.test/WP2,OTHER,FREE,BEGINNER,Apps\r\n"
+            + "WP3,Data,Budi,,0,https://course-in.test/WP3,ASTROLOGY,FREE,BEGINNER,Data\r\n"
+            + "WP4,Games,Budi\r\n"
+            + row("WP5", "Cloud") + "\r\n");
+
+        Assertions.assertEquals(5, response.getTotal());
+        Assertions.assertEquals(2, response.getImported());
+        Assertions.assertEquals(Arrays.asList(
+            new ImportCourseError(3, null, "Invalid price: cheap"),
+            new ImportCourseError(4, null, "Invalid category: ASTROLOGY"),
+            new ImportCourseError(5, null, "Expected 10 columns but found 3")
+        ), response.getErrors());
+        Assertions.assertEquals(Arrays.asList("WP1", "WP5"), codes(insertedCourses()));
+    }
+
+    @Test
+    void testImportCourses_rejectsDuplicatesWithinTheFile() {
+        ImportCourseResponse response = importCsv(HEADER
+            + row("wp1", "Web") + "\r\n"
+            + row("WP1", "Other Web") + "\r\n"
+            + row("WP2", "Web") + "\r\n"
+            + row("WP3", "Cloud") + "\r\n");
+
+        Assertions.assertEquals(4, response.getTotal());
+        Assertions.assertEquals(2, response.getImported());
+        Assertions.assertEquals(Arrays.asList(
+            new ImportCourseError(3, "WP1", "Duplicate code in import"),
+            new ImportCourseError(4, "WP2", "Duplicate name or link in import")
+        ), response.getErrors());
+        Assertions.assertEquals(Arrays.asList("WP1", "WP3"), codes(insertedCourses()));
+    }
+
+    @Test
+    void testImportCourses_rejectsRowsConflictingWithDatabase() {
+        when(courseRepository.findConflicts(anyList(), anyList(), anyList()))
+            .thenReturn(Collections.singletonList(new Object[]{"WP1", "Existing", "https://course-in.test/existing"}));
+
+        ImportCourseResponse response = importCsv(HEADER + row("WP1", "Web") + "\r\n" + row("WP2", "Cloud"));
+
+        Assertions.assertEquals(1, response.getImported());
+        Assertions.assertEquals(Collections.singletonList(
+            new ImportCourseError(2, "WP1", "Course with code : WP1 already exist")
+        ), response.getErrors());
+        Assertions.assertEquals(Collections.singletonList("WP2"), codes(insertedCourses()));
+    }
+
+    @Test
+    void testImportCourses_failedChunkIsReportedAndNextChunkStillImports() {
+        doThrow(new DataAccessResourceFailureException("connection reset"))
+            .doNothing()
+            .when(courseRepository).insertAll(anyList());
+
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 1500; i++) {
+            csv.append(row("C" + i, "Course " + i)).append("\r\n");
+        }
+
+        ImportCourseResponse response = importCsv(csv.toString());
+
+        Assertions.assertEquals(1500, response.getTotal());
+        Assertions.assertEquals(500, response.getImported());
+        Assertions.assertEquals(1000, response.getErrors().size());
+        Assertions.assertEquals(new ImportCourseError(2, "C1", "Failed to insert course"), response.getErrors().get(0));
+        Assertions.assertEquals(new ImportCourseError(1001, "C1000", "Failed to insert course"),
+            response.getErrors().get(999));
+        Mockito.verify(courseRepository, Mockito.times(2)).insertAll(anyList());
+        Mockito.verify(courseChangeRepository, Mockito.times(1)).append(eq(CourseChangeType.CREATED), any());
+        Mockito.verify(eventPublisher, Mockito.times(1)).publishEvent(any(CoursesImportedEvent.class));
+    }
+
+    private ImportCourseResponse importCsv(String csv) {
+        return courseImportService.importCourses(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), TEXT_CSV);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Course> insertedCourses() {
+        ArgumentCaptor<List<Course>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(courseRepository, Mockito.atLeastOnce()).insertAll(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    private static List<String> codes(List<Course> courses) {
+        return courses.stream().map(Course::getCode).collect(Collectors.toList());
+    }
+
+    private static String row(String code, String name) {
+        return code + "," + name + ",Budi,," + "0,https://course-in.test/" + name.replace(' ', '-')
+            + ",OTHER,FREE,BEGINNER,Learn";
+    }
+
+}
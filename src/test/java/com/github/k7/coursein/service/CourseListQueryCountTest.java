@@ -0,0 +1,121 @@
+package com.github.k7.coursein.service;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseFilter;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.model.CursorPage;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "course.catalog.index.enabled=false"
+})
+@Transactional
+class CourseListQueryCountTest {
+
+    private static final int COURSES = 60;
+
+    private static final int INTENDEDS_PER_COURSE = 3;
+
+    private static final String CODE_PREFIX = "QCOUNT";
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < COURSES; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(i));
+            Long id = jdbcTemplate.queryForObject(
+                "INSERT INTO courses (code, name, author, description, price, link, category, type, level, "
+                    + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) RETURNING id",
+                Long.class,
+                CODE_PREFIX + i, "Query Count Course " + i, "Query Count", "Description " + i, 100.0,
+                "https://query-count.course-in.test/" + i, CourseCategory.WEB_DEVELOPMENT.name(),
+                CourseType.PREMIUM.name(), CourseLevel.BEGINNER.name(), createdAt, createdAt
+            );
+
+            for (int j = 0; j < INTENDEDS_PER_COURSE; j++) {
+                jdbcTemplate.update(
+                    "INSERT INTO intendeds (purpose, course_id) VALUES (?, ?)", "Purpose " + j, id
+                );
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void testGetAllCourse_queryCountDoesNotDependOnPageSize() {
+        long small = countQueries(() -> assertPage(courseService.getAllCourse(
+            CourseType.PREMIUM, null, null, null, null, null, null, 0, 5), 5));
+        long large = countQueries(() -> assertPage(courseService.getAllCourse(
+            CourseType.PREMIUM, null, null, null, null, null, null, 0, 50), 50));
+
+        Assertions.assertEquals(small, large);
+        Assertions.assertTrue(large <= 3, "page, count and intendeds queries only, was " + large);
+    }
+
+    @Test
+    void testGetAllCourseByCursor_queryCountDoesNotDependOnPageSize() {
+        long small = countQueries(() -> assertCursorPage(courseService.getAllCourseByCursor(
+            CourseType.PREMIUM, Collections.singleton(CourseFilter.NEWEST), null, null, null, null, null,
+            "", 5), 5));
+        long large = countQueries(() -> assertCursorPage(courseService.getAllCourseByCursor(
+            CourseType.PREMIUM, Collections.singleton(CourseFilter.NEWEST), null, null, null, null, null,
+            "", 50), 50));
+
+        Assertions.assertEquals(small, large);
+        Assertions.assertTrue(large <= 2, "page and intendeds queries only, was " + large);
+    }
+
+    private long countQueries(Runnable runnable) {
+        statistics.clear();
+        runnable.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static void assertPage(Page<CourseResponse> page, int size) {
+        Assertions.assertEquals(size, page.getNumberOfElements());
+        page.getContent().forEach(CourseListQueryCountTest::assertIntendeds);
+    }
+
+    private static void assertIntendeds(CourseResponse course) {
+        if (course.getCode().startsWith(CODE_PREFIX)) {
+            Assertions.assertEquals(INTENDEDS_PER_COURSE, course.getIntendeds().size());
+        }
+    }
+
+    private static void assertCursorPage(CursorPage<CourseResponse> page, int size) {
+        Assertions.assertEquals(size, page.getContent().size());
+        page.getContent().forEach(CourseListQueryCountTest::assertIntendeds);
+    }
+
+}
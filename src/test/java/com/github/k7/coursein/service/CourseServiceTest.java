@@ -1,30 +1,53 @@
 package com.github.k7.coursein.service;
 
+import com.github.k7.coursein.cache.CourseStatsCache;
 import com.github.k7.coursein.entity.Course;
+import com.github.k7.coursein.entity.User;
 import com.github.k7.coursein.enums.CourseCategory;
 import com.github.k7.coursein.enums.CourseLevel;
 import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.index.CourseCatalogIndex;
+import com.github.k7.coursein.index.CourseRelatedIndex;
+import com.github.k7.coursein.index.CourseSearchIndex;
+import com.github.k7.coursein.index.CourseSuggestTrie;
+import com.github.k7.coursein.index.CourseTrendingIndex;
 import com.github.k7.coursein.model.AddCourseRequest;
+import com.github.k7.coursein.model.CourseFacetsResponse;
 import com.github.k7.coursein.model.CourseResponse;
+import com.github.k7.coursein.model.CursorPage;
 import com.github.k7.coursein.model.UpdateCourseRequest;
+import com.github.k7.coursein.repository.CourseChangeRepository;
+import com.github.k7.coursein.repository.CourseListRow;
 import com.github.k7.coursein.repository.CourseRepository;
+import com.github.k7.coursein.repository.IntendedRepository;
+import com.github.k7.coursein.repository.UserRepository;
+import com.github.k7.coursein.util.PageCursor;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import javax.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 
@@ -37,6 +60,36 @@ class CourseServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private IntendedRepository intendedRepository;
+
+    @Mock
+    private CourseCatalogIndex courseCatalogIndex;
+
+    @Mock
+    private CourseSearchIndex courseSearchIndex;
+
+    @Mock
+    private CourseSuggestTrie courseSuggestTrie;
+
+    @Mock
+    private CourseChangeRepository courseChangeRepository;
+
+    @Mock
+    private CourseStatsCache courseStatsCache;
+
+    @Mock
+    private CourseRelatedIndex courseRelatedIndex;
+
+    @Mock
+    private CourseTrendingIndex courseTrendingIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserRepository userRepository;
+
     @InjectMocks
     private CourseServiceImpl courseService;
 
@@ -63,10 +116,9 @@ class CourseServiceTest {
 
     @Test
     void testGetAllCourse_success() {
-        List<Course> mockCourses = new ArrayList<>();
+        List<CourseListRow> mockRows = new ArrayList<>();
 
-        mockCourses.add(Course.builder()
-            .id(1L)
+        mockRows.add(new CourseListRow(1L, LocalDateTime.now(), null, CourseResponse.builder()
             .code("WP1")
             .name("Test 1")
             .description("Deskripsi test 1")
@@ -75,10 +127,10 @@ class CourseServiceTest {
             .category(CourseCategory.ANDROID_DEVELOPMENT)
             .type(CourseType.PREMIUM)
             .level(CourseLevel.BEGINNER)
-            .build());
+            .intendeds(new HashSet<>())
+            .build()));
 
-        mockCourses.add(Course.builder()
-            .id(2L)
+        mockRows.add(new CourseListRow(2L, LocalDateTime.now(), null, CourseResponse.builder()
             .code("WP2")
             .name("Test 2")
             .description("Deskripsi test 2")
@@ -87,16 +139,19 @@ class CourseServiceTest {
             .category(CourseCategory.IOS_DEVELOPMENT)
             .type(CourseType.PREMIUM)
             .level(CourseLevel.INTERMEDIATE)
-            .build());
+            .intendeds(new HashSet<>())
+            .build()));
 
-        Page<Course> mockPage = new PageImpl<>(mockCourses);
+        Page<CourseListRow> mockPage = new PageImpl<>(mockRows);
 
-        when(courseRepository.findAll(any(PageRequest.class))).thenReturn(mockPage);
+        when(courseRepository.findListRows(any(Specification.class), any(Pageable.class))).thenReturn(mockPage);
 
-        Page<CourseResponse> resultPage = courseService.getAllCourse(null, null, null, null, 0, 8);
-        Assertions.assertEquals(mockCourses.size(), resultPage.getContent().size());
+        Page<CourseResponse> resultPage = courseService.getAllCourse(null, null, null, null, null, null, null, 0, 8);
+        Assertions.assertEquals(mockRows.size(), resultPage.getContent().size());
 
-        Mockito.verify(courseRepository).findAll(PageRequest.of(0, 8));
+        Mockito.verify(courseRepository)
+            .findListRows(any(Specification.class), eq(PageRequest.of(0, 8, Sort.by(Sort.Direction.ASC, "id"))));
+        Mockito.verify(courseRepository, Mockito.never()).findAll();
     }
 
     @Test
@@ -167,4 +222,100 @@ class CourseServiceTest {
         Assertions.assertEquals(existingCourse.getPrice(), courseResponse.getPrice());
     }
 
+    @Test
+    void testSearchCourse_clampsPageAndSize() {
+        when(courseSearchIndex.isReady()).thenReturn(true);
+        when(courseSearchIndex.search(eq("java"), any(), any(), any(), any(Pageable.class)))
+            .thenReturn(Page.empty());
+
+        courseService.searchCourse("java", null, null, null, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+        Mockito.verify(courseSearchIndex).search(eq("java"), any(), any(), any(), eq(PageRequest.of(100, 100)));
+    }
+
+    @Test
+    void testGetAllCourseUserByCursor_seeksOnEnrolledAt() {
+        LocalDateTime enrolledAt = LocalDateTime.of(2024, 1, 5, 10, 0);
+        when(userRepository.findByUsername("learner"))
+            .thenReturn(Optional.of(User.builder().id(7L).username("learner").build()));
+        Sort enrolledSort = Sort.by(Sort.Direction.DESC, "enrollments.enrolledAt")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+        when(courseRepository.findListRows(any(), eq(enrolledSort), eq(3))).thenReturn(Arrays.asList(
+            listRow(30L, enrolledAt.plusDays(1)), listRow(20L, enrolledAt), listRow(10L, enrolledAt)));
+
+        CursorPage<CourseResponse> page = courseService.getAllCourseUserByCursor(
+            "learner", null, null, null, null, "", 2);
+
+        Assertions.assertEquals(2, page.getContent().size());
+        Assertions.assertEquals(PageCursor.of(enrolledAt, 20L).encode(), page.getNextCursor());
+    }
+
+    private static CourseListRow listRow(Long id, LocalDateTime enrolledAt) {
+        return new CourseListRow(id, LocalDateTime.now(), enrolledAt, CourseResponse.builder()
+            .code("C" + id)
+            .intendeds(new HashSet<>())
+            .build());
+    }
+
+    @Test
+    void testGetCourseFacets_eachFacetIgnoresItsOwnConstraint() {
+        when(courseRepository.countByTypeCategoryLevel(any(Specification.class))).thenReturn(facetRows());
+
+        CourseFacetsResponse facets = courseService.getCourseFacets(CourseType.PREMIUM, null,
+            Collections.singleton(CourseCategory.WEB_DEVELOPMENT), null, null, null);
+
+        Assertions.assertEquals(5L, facets.getTypes().get(CourseType.FREE));
+        Assertions.assertEquals(5L, facets.getTypes().get(CourseType.PREMIUM));
+        Assertions.assertEquals(5L, facets.getCategories().get(CourseCategory.WEB_DEVELOPMENT));
+        Assertions.assertEquals(4L, facets.getCategories().get(CourseCategory.UIUX_DESIGN));
+        Assertions.assertEquals(0L, facets.getCategories().get(CourseCategory.DATA_SCIENCE));
+        Assertions.assertEquals(3L, facets.getLevels().get(CourseLevel.BEGINNER));
+        Assertions.assertEquals(0L, facets.getLevels().get(CourseLevel.INTERMEDIATE));
+        Assertions.assertEquals(2L, facets.getLevels().get(CourseLevel.ADVANCED));
+    }
+
+    @Test
+    void testGetCourseFacets_selectedValuesStillCountUnselectedSiblings() {
+        when(courseRepository.countByTypeCategoryLevel(any(Specification.class))).thenReturn(facetRows());
+
+        CourseFacetsResponse facets = courseService.getCourseFacets(null, null,
+            Collections.singleton(CourseCategory.UIUX_DESIGN), EnumSet.of(CourseLevel.BEGINNER, CourseLevel.ADVANCED),
+            null, null);
+
+        Assertions.assertEquals(0L, facets.getTypes().get(CourseType.FREE));
+        Assertions.assertEquals(4L, facets.getTypes().get(CourseType.PREMIUM));
+        Assertions.assertEquals(10L, facets.getCategories().get(CourseCategory.WEB_DEVELOPMENT));
+        Assertions.assertEquals(4L, facets.getCategories().get(CourseCategory.UIUX_DESIGN));
+        Assertions.assertEquals(4L, facets.getLevels().get(CourseLevel.BEGINNER));
+        Assertions.assertEquals(7L, facets.getLevels().get(CourseLevel.INTERMEDIATE));
+        Assertions.assertEquals(0L, facets.getLevels().get(CourseLevel.ADVANCED));
+    }
+
+    @Test
+    void testGetCourseFacets_withoutFiltersCountsEveryCourseOncePerFacet() {
+        when(courseRepository.countByTypeCategoryLevel(any(Specification.class))).thenReturn(facetRows());
+
+        CourseFacetsResponse facets = courseService.getCourseFacets(null, null, null, null, null, null);
+
+        Assertions.assertEquals(12L, facets.getTypes().get(CourseType.FREE));
+        Assertions.assertEquals(9L, facets.getTypes().get(CourseType.PREMIUM));
+        Assertions.assertEquals(10L, facets.getCategories().get(CourseCategory.WEB_DEVELOPMENT));
+        Assertions.assertEquals(11L, facets.getCategories().get(CourseCategory.UIUX_DESIGN));
+        Assertions.assertEquals(CourseCategory.values().length, facets.getCategories().size());
+        Assertions.assertEquals(12L, facets.getLevels().get(CourseLevel.BEGINNER));
+        Assertions.assertEquals(7L, facets.getLevels().get(CourseLevel.INTERMEDIATE));
+        Assertions.assertEquals(2L, facets.getLevels().get(CourseLevel.ADVANCED));
+        Mockito.verify(courseRepository, Mockito.times(1)).countByTypeCategoryLevel(any(Specification.class));
+    }
+
+    private static List<Object[]> facetRows() {
+        return Arrays.asList(
+            new Object[]{CourseType.FREE, CourseCategory.WEB_DEVELOPMENT, CourseLevel.BEGINNER, 5L},
+            new Object[]{CourseType.PREMIUM, CourseCategory.WEB_DEVELOPMENT, CourseLevel.BEGINNER, 3L},
+            new Object[]{CourseType.PREMIUM, CourseCategory.UIUX_DESIGN, CourseLevel.BEGINNER, 4L},
+            new Object[]{CourseType.PREMIUM, CourseCategory.WEB_DEVELOPMENT, CourseLevel.ADVANCED, 2L},
+            new Object[]{CourseType.FREE, CourseCategory.UIUX_DESIGN, CourseLevel.INTERMEDIATE, 7L}
+        );
+    }
+
 }
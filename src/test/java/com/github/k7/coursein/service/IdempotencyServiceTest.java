@@ -0,0 +1,157 @@
+package com.github.k7.coursein.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs against the database because claims, expiry and rollback are decided by the upsert on
+ * {@code idempotent_requests}. Each test commits, so rows are removed by scope afterwards.
+ */
+@SpringBootTest(properties = "course.catalog.index.enabled=false")
+class IdempotencyServiceTest {
+
+    private static final String SCOPE = "idempotency-test";
+
+    private static final Map<String, String> REQUEST = Collections.singletonMap("courseCode", "WP1");
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicInteger actions = new AtomicInteger();
+
+    private String idempotencyKey;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyKey = UUID.randomUUID().toString();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM idempotent_requests WHERE idempotency_key LIKE ?", SCOPE + ":%");
+    }
+
+    @Test
+    void testExecute_replaysStoredResponse() {
+        String first = execute(REQUEST);
+        String second = execute(REQUEST);
+
+        Assertions.assertEquals("response-1", first);
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(1, actions.get());
+        Assertions.assertEquals("\"response-1\"", storedResponse());
+    }
+
+    @Test
+    void testExecute_differentBodyIsRejected() {
+        execute(REQUEST);
+
+        ResponseStatusException exception = Assertions.assertThrows(ResponseStatusException.class,
+            () -> execute(Collections.singletonMap("courseCode", "WP2")));
+
+        Assertions.assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+        Assertions.assertEquals(1, actions.get());
+    }
+
+    @Test
+    void testExecute_inFlightClaimIsConflict() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        insert(hash(REQUEST), null, now, now.plusHours(1));
+
+        ResponseStatusException exception = Assertions.assertThrows(ResponseStatusException.class,
+            () -> execute(REQUEST));
+
+        Assertions.assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        Assertions.assertEquals(0, actions.get());
+    }
+
+    @Test
+    void testExecute_expiredKeyIsClaimedAgain() {
+        LocalDateTime now = LocalDateTime.now();
+        insert("stale", "\"stale-response\"", now.minusDays(2), now.minusDays(1));
+
+        Assertions.assertEquals("response-1", execute(REQUEST));
+        Assertions.assertEquals(1, actions.get());
+        Assertions.assertEquals("\"response-1\"", storedResponse());
+    }
+
+    @Test
+    void testExecute_rollbackReleasesClaim() {
+        Assertions.assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status ->
+            idempotencyService.execute(SCOPE, idempotencyKey, REQUEST, String.class, () -> {
+                actions.incrementAndGet();
+                throw new IllegalStateException("payment gateway unavailable");
+            })));
+
+        Assertions.assertEquals(0, count());
+        Assertions.assertEquals("response-2", execute(REQUEST));
+        Assertions.assertEquals(2, actions.get());
+    }
+
+    private String execute(Object request) {
+        return idempotencyService.execute(SCOPE, idempotencyKey, request, String.class,
+            () -> "response-" + actions.incrementAndGet());
+    }
+
+    private String key() {
+        // no authenticated principal in these tests
+        return SCOPE + "::" + idempotencyKey;
+    }
+
+    private void insert(String requestHash, String response, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        jdbcTemplate.update(
+            "INSERT INTO idempotent_requests (idempotency_key, request_hash, response, created_at, expires_at) "
+                + "VALUES (?, ?, ?, ?, ?)",
+            key(), requestHash, response, Timestamp.valueOf(createdAt), Timestamp.valueOf(expiresAt)
+        );
+    }
+
+    private String storedResponse() {
+        return jdbcTemplate.queryForObject(
+            "SELECT response FROM idempotent_requests WHERE idempotency_key = ?", String.class, key()
+        );
+    }
+
+    private int count() {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM idempotent_requests WHERE idempotency_key = ?", Integer.class, key()
+        );
+        return count == null ? 0 : count;
+    }
+
+    private String hash(Object request) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(SCOPE.getBytes(StandardCharsets.UTF_8));
+        digest.update(objectMapper.writeValueAsBytes(request));
+        return String.format("%064x", new BigInteger(1, digest.digest()));
+    }
+
+}
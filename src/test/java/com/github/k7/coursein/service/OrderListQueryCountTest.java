@@ -0,0 +1,139 @@
+package com.github.k7.coursein.service;
+
+import com.github.k7.coursein.enums.CourseCategory;
+import com.github.k7.coursein.enums.CourseLevel;
+import com.github.k7.coursein.enums.CourseType;
+import com.github.k7.coursein.enums.OrderStatus;
+import com.github.k7.coursein.model.OrderResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "course.catalog.index.enabled=false"
+})
+@Transactional
+class OrderListQueryCountTest {
+
+    private static final int ORDERS = 60;
+
+    private static final String USERNAME = "qcount-orders";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        Long buyerId = insertUser(USERNAME);
+
+        for (int i = 0; i < ORDERS; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(i));
+            Long courseId = jdbcTemplate.queryForObject(
+                "INSERT INTO courses (code, name, author, description, price, link, category, type, level, "
+                    + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) RETURNING id",
+                Long.class,
+                "QORDER" + i, "Order Count Course " + i, "Order Count", "Description " + i, 100.0,
+                "https://order-count.course-in.test/" + i, CourseCategory.WEB_DEVELOPMENT.name(),
+                CourseType.PREMIUM.name(), CourseLevel.BEGINNER.name(), createdAt, createdAt
+            );
+
+            insertOrder("INV-QCOUNT-" + i, createdAt, buyerId, courseId);
+            insertOrder("INV-QCOUNT-OTHER-" + i, createdAt, insertUser(USERNAME + "-" + i), courseId);
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME)
+    void testGetAllOrder_queryCountDoesNotDependOnPageSize() {
+        long small = countQueries(() -> orderService.getAllOrder(USERNAME, 0, 5), 5);
+        long large = countQueries(() -> orderService.getAllOrder(USERNAME, 0, 50), 50);
+
+        Assertions.assertEquals(small, large);
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME)
+    void testGetAllOrderByCursor_queryCountDoesNotDependOnPageSize() {
+        long small = countQueries(() -> orderService.getAllOrderByCursor(USERNAME, "", 5).getContent(), 5);
+        long large = countQueries(() -> orderService.getAllOrderByCursor(USERNAME, "", 50).getContent(), 50);
+
+        Assertions.assertEquals(small, large);
+    }
+
+    @Test
+    void testGetDashboardOrders_queryCountDoesNotDependOnPageSize() {
+        long small = countQueries(() -> orderService.getDashboardOrders(0, 5), 5);
+        long large = countQueries(() -> orderService.getDashboardOrders(0, 50), 50);
+
+        Assertions.assertEquals(small, large);
+        Assertions.assertTrue(large <= 2, "page and count queries only, was " + large);
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME)
+    void testGetAllOrder_mapsOrderColumns() {
+        OrderResponse order = orderService.getAllOrder(USERNAME, 0, 1).getContent().get(0);
+
+        Assertions.assertEquals("INV-QCOUNT-0", order.getOrderCode());
+        Assertions.assertEquals(USERNAME, order.getUsername());
+        Assertions.assertEquals("Order Count Course 0", order.getCourseName());
+        Assertions.assertEquals(100.0, order.getTotalPrice());
+        Assertions.assertEquals(11.0, order.getPpn());
+        Assertions.assertEquals(111.0, order.getTotalTransfer());
+    }
+
+    private void insertOrder(String id, Timestamp createdAt, Long userId, Long courseId) {
+        jdbcTemplate.update(
+            "INSERT INTO orders (id, created_at, status, user_id, course_id, total_transfer) "
+                + "VALUES (?, ?, ?, ?, ?, ?)",
+            id, createdAt, OrderStatus.PROCESSING.name(), userId, courseId, 111.0
+        );
+    }
+
+    private Long insertUser(String username) {
+        return jdbcTemplate.queryForObject(
+            "INSERT INTO users (name, username, email, password, enabled, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, now(), now()) RETURNING id",
+            Long.class,
+            username, username, username + "@course-in.test", "Password", true
+        );
+    }
+
+    private long countQueries(Supplier<?> supplier, int size) {
+        statistics.clear();
+        Object page = supplier.get();
+        long queries = statistics.getPrepareStatementCount();
+
+        List<?> content = page instanceof Page ? ((Page<?>) page).getContent() : (List<?>) page;
+        Assertions.assertEquals(size, content.size());
+        return queries;
+    }
+
+}
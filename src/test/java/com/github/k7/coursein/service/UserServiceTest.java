@@ -3,11 +3,13 @@ package com.github.k7.coursein.service;
 import com.github.k7.coursein.entity.Role;
 import com.github.k7.coursein.entity.User;
 import com.github.k7.coursein.enums.UserRole;
+import com.github.k7.coursein.event.EnrollmentsRemovedEvent;
 import com.github.k7.coursein.model.DeleteUserRequest;
 import com.github.k7.coursein.model.RegisterUserRequest;
 import com.github.k7.coursein.model.UpdatePasswordUserRequest;
 import com.github.k7.coursein.model.UpdateUserRequest;
 import com.github.k7.coursein.model.UserResponse;
+import com.github.k7.coursein.repository.CourseRepository;
 import com.github.k7.coursein.repository.RoleRepository;
 import com.github.k7.coursein.repository.UserRepository;
 import com.github.k7.coursein.util.TimeUtil;
@@ -15,9 +17,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -26,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
@@ -38,6 +43,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CourseRepository courseRepository;
+
     @Mock
     private RoleRepository roleRepository;
 
@@ -50,6 +58,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -508,6 +519,8 @@ class UserServiceTest {
 
         doNothing().when(validationService).validate(request);
         doNothing().when(userRepository).delete(user);
+        when(courseRepository.findEnrolledCourseIds(user.getId()))
+            .thenReturn(Arrays.asList(10L, 20L));
 
         assertDoesNotThrow(() -> userService.deleteUser("TestUser", request));
 
@@ -519,6 +532,11 @@ class UserServiceTest {
             .matches(request.getPassword(), user.getPassword());
         verify(userRepository, times(1))
             .delete(user);
+        verify(courseRepository, times(1))
+            .decrementEnrollmentCountByUserId(user.getId());
+        verify(eventPublisher, times(1))
+            .publishEvent(argThat((Object event) -> event instanceof EnrollmentsRemovedEvent
+                && ((EnrollmentsRemovedEvent) event).getCourseIds().equals(new HashSet<>(Arrays.asList(10L, 20L)))));
     }
 
     @Test
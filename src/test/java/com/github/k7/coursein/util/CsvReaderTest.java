@@ -0,0 +1,63 @@
+package com.github.k7.coursein.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+
+class CsvReaderTest {
+
+    @Test
+    void testReadRecord_plainRecordsWithMixedLineEndings() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("code,name\r\nWP1,Web\nWP2,Mobile"));
+
+        Assertions.assertEquals(Arrays.asList("code", "name"), reader.readRecord());
+        Assertions.assertEquals(Arrays.asList("WP1", "Web"), reader.readRecord());
+        Assertions.assertEquals(Arrays.asList("WP2", "Mobile"), reader.readRecord());
+        Assertions.assertNull(reader.readRecord());
+    }
+
+    @Test
+    void testReadRecord_quotedCommaAndDoubledQuotes() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"Java, Spring\",\"The \"\"best\"\" course\"\n"));
+
+        Assertions.assertEquals(Arrays.asList("Java, Spring", "The \"best\" course"), reader.readRecord());
+        Assertions.assertNull(reader.readRecord());
+    }
+
+    @Test
+    void testReadRecord_crlfInsideQuotesStaysInField() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("WP1,\"line one\r\nline two\"\r\nWP2,single\r\n"));
+
+        Assertions.assertEquals(Arrays.asList("WP1", "line one\r\nline two"), reader.readRecord());
+        Assertions.assertEquals(Arrays.asList("WP2", "single"), reader.readRecord());
+        Assertions.assertNull(reader.readRecord());
+    }
+
+    @Test
+    void testReadRecord_emptyFieldsAndEmptyQuotedField() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(",\"\",\n\n"));
+
+        Assertions.assertEquals(Arrays.asList("", "", ""), reader.readRecord());
+        Assertions.assertEquals(Collections.singletonList(""), reader.readRecord());
+        Assertions.assertNull(reader.readRecord());
+    }
+
+    @Test
+    void testReadRecord_quoteInsideUnquotedFieldIsLiteral() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("5\" screen,ok\n"));
+
+        Assertions.assertEquals(Arrays.asList("5\" screen", "ok"), reader.readRecord());
+    }
+
+    @Test
+    void testReadRecord_unterminatedQuoteFails() {
+        CsvReader reader = new CsvReader(new StringReader("WP1,\"never closed\n"));
+
+        Assertions.assertThrows(IOException.class, reader::readRecord);
+    }
+
+}
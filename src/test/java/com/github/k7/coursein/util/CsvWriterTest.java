@@ -0,0 +1,48 @@
+package com.github.k7.coursein.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+class CsvWriterTest {
+
+    @Test
+    void testWriteRecord_plainFieldsAreNotQuoted() throws IOException {
+        Assertions.assertEquals("INV-1,budi,100.5\r\n", write("INV-1", "budi", 100.5));
+    }
+
+    @Test
+    void testWriteRecord_quotesCommasQuotesAndLineBreaks() throws IOException {
+        Assertions.assertEquals(
+            "\"Java, Spring\",\"The \"\"best\"\" course\",\"line one\r\nline two\",\"a\nb\"\r\n",
+            write("Java, Spring", "The \"best\" course", "line one\r\nline two", "a\nb"));
+    }
+
+    @Test
+    void testWriteRecord_nullAndEmptyFieldsAreWrittenEmpty() throws IOException {
+        Assertions.assertEquals(",,x\r\n", write(null, "", "x"));
+    }
+
+    @Test
+    void testWriteRecord_roundTripsThroughCsvReader() throws IOException {
+        String[] fields = {"WP1", "Java, \"Spring\"", "multi\r\nline", "", "plain"};
+
+        CsvReader reader = new CsvReader(new StringReader(write((Object[]) fields)));
+
+        Assertions.assertEquals(Arrays.asList(fields), reader.readRecord());
+        Assertions.assertNull(reader.readRecord());
+    }
+
+    private static String write(Object... fields) throws IOException {
+        StringWriter output = new StringWriter();
+        CsvWriter writer = new CsvWriter(output);
+        writer.writeRecord(fields);
+        writer.flush();
+        return output.toString();
+    }
+
+}